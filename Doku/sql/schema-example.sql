@@ -11,13 +11,16 @@ CREATE TABLE reservations (
     title VARCHAR(255) NOT NULL,
     location VARCHAR(255) NOT NULL,
     room_number INT NOT NULL CHECK (room_number BETWEEN 101 AND 105),
-    description VARCHAR(1000) NOT NULL CHECK (LENGTH(description) BETWEEN 10 AND 200),
+    description VARCHAR(200) NOT NULL CHECK (LENGTH(description) BETWEEN 10 AND 200),
     start_time DATETIME NOT NULL,
     end_time DATETIME NOT NULL,
     access_type VARCHAR(20) NOT NULL CHECK (access_type IN ('PUBLIC', 'PRIVATE')),
     access_code VARCHAR(255),
-    public_key VARCHAR(255) UNIQUE,
-    private_key VARCHAR(255) UNIQUE,
+    public_key VARCHAR(255),
+    private_key VARCHAR(255),
+    public_key_hash BINARY(16) UNIQUE,
+    private_key_hash BINARY(16) UNIQUE,
+    created_at DATETIME,
     CONSTRAINT chk_time CHECK (end_time > start_time)
 ) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_unicode_ci;
 
@@ -31,8 +34,7 @@ CREATE TABLE participants (
 
 -- Indizes für bessere Performance
 CREATE INDEX idx_reservations_room_time ON reservations(room_number, start_time, end_time);
-CREATE INDEX idx_reservations_public_key ON reservations(public_key);
-CREATE INDEX idx_reservations_private_key ON reservations(private_key);
+CREATE INDEX idx_reservations_created_at ON reservations(created_at);
 CREATE INDEX idx_participants_reservation ON participants(reservation_id);
 
 -- =====================================================
@@ -49,5 +51,5 @@ CREATE INDEX idx_participants_reservation ON participants(reservation_id);
 -- 1. room_number: Nur Werte 101-105 erlaubt
 -- 2. description: 10-200 Zeichen Pflicht
 -- 3. end_time muss nach start_time liegen
--- 4. public_key und private_key sind unique für Zugriffskontrolle
+-- 4. public_key und private_key sind über ihre Hashes (erste 16 Bytes von SHA-256) unique und werden darüber gesucht
 -- 5. Zimmerkonfliktprüfung erfolgt in der Service-Layer
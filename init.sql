@@ -4,8 +4,5 @@
 -- Ensure we're using the correct database
 USE reservations;
 
--- The application will create tables automatically using JPA (spring.jpa.hibernate.ddl-auto=update)
--- This file can be used for any additional initialization if needed
-
--- Example: Create an index for performance (optional)
--- CREATE INDEX idx_reservation_room ON reservation(room_number);
+-- Tables and indexes are created by the application's Flyway migrations
+-- (src/main/resources/db/migration). This file can be used for any additional initialization if needed
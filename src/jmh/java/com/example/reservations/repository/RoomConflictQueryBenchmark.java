@@ -0,0 +1,102 @@
+package com.example.reservations.repository;
+
+import com.example.reservations.ReservationAppApplication;
+import com.example.reservations.service.RoomScheduleIndexBenchmark;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+/**
+ * The same conflict checks as {@link RoomScheduleIndexBenchmark}, answered by the EXISTS query of
+ * the repository against H2 instead of the in-memory index. Run both to compare the numbers.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class RoomConflictQueryBenchmark {
+
+    private static final int ROOMS = 5;
+    private static final int BATCH_SIZE = 1000;
+    private static final LocalDateTime START = LocalDateTime.of(2030, 1, 7, 8, 0);
+
+    @Param({"10", "1000", "100000"})
+    public int reservationsPerRoom;
+
+    private ConfigurableApplicationContext context;
+    private ReservationRepository repository;
+    private LocalDateTime middle;
+    private LocalDateTime afterLast;
+
+    @Setup
+    public void setUp() {
+        context = new SpringApplicationBuilder(ReservationAppApplication.class)
+                .web(WebApplicationType.NONE)
+                .properties("spring.datasource.url=jdbc:h2:mem:conflictbenchmark" + reservationsPerRoom + ";MODE=MYSQL;DB_CLOSE_DELAY=-1")
+                .run();
+        repository = context.getBean(ReservationRepository.class);
+
+        // Direkt per JDBC, über den Service würde das Befüllen bei 100000 pro Raum zu lange dauern
+        JdbcTemplate jdbcTemplate = context.getBean(JdbcTemplate.class);
+        List<Object[]> rows = new ArrayList<>(BATCH_SIZE);
+        long id = 1_000_000;
+        for (int room = 101; room < 101 + ROOMS; room++) {
+            for (int i = 0; i < reservationsPerRoom; i++) {
+                LocalDateTime start = START.plusHours(i);
+                rows.add(new Object[] {id++, room, Timestamp.valueOf(start), Timestamp.valueOf(start.plusMinutes(45))});
+                if (rows.size() == BATCH_SIZE) {
+                    insert(jdbcTemplate, rows);
+                }
+            }
+        }
+        insert(jdbcTemplate, rows);
+        middle = START.plusHours(reservationsPerRoom / 2);
+        afterLast = START.plusHours(reservationsPerRoom);
+    }
+
+    @TearDown
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public boolean conflictInTheMiddle() {
+        return repository.existsByRoomNumberAndStartTimeLessThanAndEndTimeGreaterThan(103, middle.plusMinutes(90), middle.plusMinutes(30));
+    }
+
+    @Benchmark
+    public boolean freeGapInTheMiddle() {
+        return repository.existsByRoomNumberAndStartTimeLessThanAndEndTimeGreaterThan(103, middle.plusMinutes(60), middle.plusMinutes(45));
+    }
+
+    @Benchmark
+    public boolean freeAfterTheLastReservation() {
+        return repository.existsByRoomNumberAndStartTimeLessThanAndEndTimeGreaterThan(103, afterLast.plusHours(1), afterLast);
+    }
+
+    private static void insert(JdbcTemplate jdbcTemplate, List<Object[]> rows) {
+        jdbcTemplate.batchUpdate("insert into reservations (id, title, location, room_number, description, start_time, end_time, access_type) "
+                + "values (?, 'Benchmark Meeting', 'Conference Room', ?, 'Benchmark reservation', ?, ?, 'PUBLIC')", rows);
+        rows.clear();
+    }
+}
@@ -0,0 +1,73 @@
+package com.example.reservations.service;
+
+import com.example.reservations.model.RoomOccupancy;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Conflict scan of {@code validateReservation} before the database check, for rooms holding
+ * different numbers of back-to-back reservations. {@code RoomConflictQueryBenchmark} runs the
+ * same checks against the database.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class RoomScheduleIndexBenchmark {
+
+    private static final int ROOMS = 5;
+    private static final LocalDateTime START = LocalDateTime.of(2030, 1, 7, 8, 0);
+
+    @Param({"10", "1000", "100000"})
+    public int reservationsPerRoom;
+
+    private RoomScheduleIndex index;
+    private LocalDateTime middle;
+    private LocalDateTime afterLast;
+
+    @Setup
+    public void setUp() {
+        List<RoomOccupancy> occupancies = new ArrayList<>(ROOMS * reservationsPerRoom);
+        long id = 1;
+        for (int room = 101; room < 101 + ROOMS; room++) {
+            for (int i = 0; i < reservationsPerRoom; i++) {
+                LocalDateTime start = START.plusHours(i);
+                occupancies.add(new RoomOccupancy(id++, room, start, start.plusMinutes(45)));
+            }
+        }
+        index = new RoomScheduleIndex();
+        index.rebuild(occupancies);
+        middle = START.plusHours(reservationsPerRoom / 2);
+        afterLast = START.plusHours(reservationsPerRoom);
+    }
+
+    @Benchmark
+    public boolean conflictInTheMiddle() {
+        return index.hasConflict(103, middle.plusMinutes(30), middle.plusMinutes(90), null);
+    }
+
+    @Benchmark
+    public boolean freeGapInTheMiddle() {
+        return index.hasConflict(103, middle.plusMinutes(45), middle.plusMinutes(60), null);
+    }
+
+    @Benchmark
+    public boolean freeAfterTheLastReservation() {
+        return index.hasConflict(103, afterLast, afterLast.plusHours(1), null);
+    }
+}
@@ -0,0 +1,67 @@
+package com.example.reservations.service;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.security.SecureRandom;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Key generation on one shared {@code SecureRandom} against the {@link SecureKeyPool}; the
+ * multi-threaded runs show how much the threads slow each other down. Under sustained load the
+ * pool drains, so {@code pooledEightThreads} includes the fallback path.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SecureKeyBenchmark {
+
+    private static final SecureRandom sharedRandom = new SecureRandom();
+
+    @State(Scope.Benchmark)
+    public static class Pool {
+
+        SecureKeyPool pool;
+
+        @Setup(Level.Trial)
+        public void start() {
+            pool = new SecureKeyPool(4096, 2, new SimpleMeterRegistry());
+        }
+
+        @TearDown(Level.Trial)
+        public void stop() {
+            pool.shutdown();
+        }
+    }
+
+    @Benchmark
+    @Threads(1)
+    public String singleThread() {
+        return SecureKeyPool.generateKey(sharedRandom);
+    }
+
+    @Benchmark
+    @Threads(8)
+    public String eightThreads() {
+        return SecureKeyPool.generateKey(sharedRandom);
+    }
+
+    @Benchmark
+    @Threads(8)
+    public String pooledEightThreads(Pool state) {
+        return state.pool.nextKey();
+    }
+}
@@ -0,0 +1,81 @@
+package com.example.reservations.web;
+
+import com.example.reservations.ReservationAppApplication;
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+
+/**
+ * Requests per second on the start page (one query per request) with more concurrent clients
+ * than Tomcat has threads. The Maven build passes {@code -p threads=${jmh.threads}}, which the
+ * {@code java21} profile extends by {@code virtual}: {@code mvn -Pjmh,java21 -DskipTests verify
+ * -Djmh.args="RequestThroughput"} measures both. Against MySQL instead of H2 with
+ * {@code -jvmArgsAppend -Dspring.datasource.url=...}.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+@Threads(400)
+@State(Scope.Benchmark)
+public class RequestThroughputBenchmark {
+
+    @Param({"platform"})
+    public String threads;
+
+    private ConfigurableApplicationContext context;
+    private HttpClient client;
+    private HttpRequest request;
+
+    @Setup(Level.Trial)
+    public void startApplication() {
+        if ("virtual".equals(threads) && Runtime.version().feature() < 21) {
+            throw new IllegalStateException("Virtuelle Threads brauchen Java 21, gestartet mit " + Runtime.version());
+        }
+        SpringApplicationBuilder builder = new SpringApplicationBuilder(ReservationAppApplication.class)
+                .properties("server.port=0", "logging.level.root=WARN");
+        if ("virtual".equals(threads)) {
+            builder.profiles("virtual-threads");
+        }
+        context = builder.run();
+
+        int port = ((WebServerApplicationContext) context).getWebServer().getPort();
+        client = HttpClient.newBuilder().version(HttpClient.Version.HTTP_1_1).build();
+        request = HttpRequest.newBuilder(URI.create("http://localhost:" + port + "/")).GET().build();
+    }
+
+    @TearDown(Level.Trial)
+    public void stopApplication() {
+        context.close();
+    }
+
+    @Benchmark
+    public int startPage() throws IOException, InterruptedException {
+        HttpResponse<Void> response = client.send(request, HttpResponse.BodyHandlers.discarding());
+        if (response.statusCode() != 200) {
+            throw new IllegalStateException("HTTP " + response.statusCode());
+        }
+        return response.statusCode();
+    }
+}
@@ -0,0 +1,74 @@
+package com.example.reservations.web.dto;
+
+import com.example.reservations.model.Participant;
+import com.example.reservations.model.Reservation;
+import com.example.reservations.model.ReservationAccess;
+import java.time.LocalDateTime;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Conversions between the form and the entity, which run on every create, edit and import row.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ReservationFormBenchmark {
+
+    @Param({"1", "10", "100"})
+    public int participants;
+
+    private ReservationForm form;
+    private Reservation reservation;
+
+    @Setup
+    public void setUp() {
+        LocalDateTime start = LocalDateTime.of(2030, 1, 7, 9, 0);
+        reservation = new Reservation();
+        reservation.setTitle("Benchmark Meeting");
+        reservation.setLocation("Conference Room");
+        reservation.setRoomNumber(101);
+        reservation.setDescription("Measures the form conversions");
+        reservation.setStartTime(start);
+        reservation.setEndTime(start.plusHours(1));
+        reservation.setAccessType(ReservationAccess.PUBLIC);
+        IntStream.range(0, participants)
+                .mapToObj(i -> new Participant("Teilnehmer " + (char) ('A' + i % 26)))
+                .forEach(reservation::addParticipant);
+
+        form = ReservationForm.fromReservation(reservation);
+        form.setParticipantsText(reservation.getParticipants().stream()
+                .map(Participant::getName)
+                .collect(Collectors.joining(" ,  ")));
+    }
+
+    @Benchmark
+    public boolean parseParticipantNames() {
+        return form.hasAtLeastOneParticipant();
+    }
+
+    @Benchmark
+    public Reservation toReservation() {
+        return form.toReservation();
+    }
+
+    @Benchmark
+    public ReservationForm fromReservation() {
+        return ReservationForm.fromReservation(reservation);
+    }
+}
@@ -0,0 +1,95 @@
+package com.example.reservations.config;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.servlet.http.HttpServletRequest;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import javax.sql.DataSource;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+import org.springframework.web.servlet.HandlerMapping;
+
+/**
+ * Records how long each JDBC connection stays checked out of the pool, tagged with the
+ * URI pattern of the request that borrowed it ({@code none} outside of requests). Statements
+ * created on the connection are handed to the {@link SqlStatementTracker}.
+ */
+public class ConnectionHoldTimeDataSource extends DelegatingDataSource {
+
+    static final String METRIC_NAME = "reservations.db.connection.hold";
+
+    private final ObjectProvider<MeterRegistry> meterRegistry;
+    private final SqlStatementTracker statementTracker;
+
+    ConnectionHoldTimeDataSource(DataSource targetDataSource, ObjectProvider<MeterRegistry> meterRegistry,
+                                 SqlStatementTracker statementTracker) {
+        super(targetDataSource);
+        this.meterRegistry = meterRegistry;
+        this.statementTracker = statementTracker;
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        return track(super.getConnection());
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        return track(super.getConnection(username, password));
+    }
+
+    private Connection track(Connection connection) {
+        String uri = currentUri();
+        long acquiredAt = System.nanoTime();
+        AtomicBoolean closed = new AtomicBoolean();
+
+        return (Connection) Proxy.newProxyInstance(Connection.class.getClassLoader(), new Class<?>[]{Connection.class},
+                (proxy, method, args) -> {
+                    if ("close".equals(method.getName()) && closed.compareAndSet(false, true)) {
+                        record(uri, System.nanoTime() - acquiredAt);
+                    }
+                    Object result;
+                    try {
+                        result = method.invoke(connection, args);
+                    } catch (InvocationTargetException ex) {
+                        throw ex.getTargetException();
+                    }
+                    if (result instanceof Statement statement) {
+                        String sql = args != null && args.length > 0 && args[0] instanceof String text ? text : null;
+                        return statementTracker.track(statement, method.getReturnType(), sql);
+                    }
+                    return result;
+                });
+    }
+
+    private void record(String uri, long nanos) {
+        MeterRegistry registry = meterRegistry.getIfAvailable();
+        if (registry == null) {
+            return;
+        }
+        Timer.builder(METRIC_NAME)
+                .description("Time a JDBC connection is held per request mapping")
+                .tag("uri", uri)
+                .register(registry)
+                .record(nanos, TimeUnit.NANOSECONDS);
+    }
+
+    private static String currentUri() {
+        RequestAttributes attributes = RequestContextHolder.getRequestAttributes();
+        if (attributes instanceof ServletRequestAttributes servletAttributes) {
+            HttpServletRequest request = servletAttributes.getRequest();
+            Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+            return pattern != null ? pattern.toString() : "unmapped";
+        }
+        return "none";
+    }
+}
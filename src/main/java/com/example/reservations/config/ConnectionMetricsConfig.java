@@ -0,0 +1,30 @@
+package com.example.reservations.config;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import java.time.Duration;
+import javax.sql.DataSource;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+public class ConnectionMetricsConfig {
+
+    @Bean
+    static BeanPostProcessor connectionHoldTimeDataSourcePostProcessor(
+            ObjectProvider<MeterRegistry> meterRegistry,
+            @Value("${reservations.sql.slow-query-threshold:200ms}") Duration slowQueryThreshold) {
+        SqlStatementTracker statementTracker = new SqlStatementTracker(slowQueryThreshold);
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (bean instanceof DataSource dataSource && !(bean instanceof ConnectionHoldTimeDataSource)) {
+                    return new ConnectionHoldTimeDataSource(dataSource, meterRegistry, statementTracker);
+                }
+                return bean;
+            }
+        };
+    }
+}
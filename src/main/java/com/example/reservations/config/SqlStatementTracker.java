@@ -0,0 +1,83 @@
+package com.example.reservations.config;
+
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Statement;
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Pattern;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Times the execute calls of JDBC statements, adds them to the {@link SqlStatistics} of the
+ * current request and logs statements slower than the threshold. Bind parameters are never
+ * logged, literals written into the SQL text are replaced by {@code ?}.
+ */
+class SqlStatementTracker {
+
+    private static final Logger log = LoggerFactory.getLogger(SqlStatementTracker.class);
+
+    private static final Pattern STRING_LITERAL = Pattern.compile("'(?:[^']|'')*'");
+    private static final Pattern NUMBER_LITERAL = Pattern.compile("(?<![\\w.])-?\\d+(?:\\.\\d+)?(?![\\w.])");
+
+    private final long slowThresholdNanos;
+
+    SqlStatementTracker(Duration slowThreshold) {
+        this.slowThresholdNanos = slowThreshold.toNanos();
+    }
+
+    /**
+     * @param type the statement interface returned by the connection method
+     * @param sql  the SQL the statement was prepared with, {@code null} for plain statements
+     */
+    Statement track(Statement statement, Class<?> type, String sql) {
+        return (Statement) Proxy.newProxyInstance(Statement.class.getClassLoader(), new Class<?>[]{type},
+                (proxy, method, args) -> {
+                    // Hibernate führt Statements in Maps, Gleichheit muss sich auf den Proxy beziehen
+                    if ("equals".equals(method.getName())) {
+                        return proxy == args[0];
+                    }
+                    if ("hashCode".equals(method.getName())) {
+                        return System.identityHashCode(proxy);
+                    }
+                    if (!method.getName().startsWith("execute")) {
+                        return invoke(method, statement, args);
+                    }
+
+                    long start = System.nanoTime();
+                    try {
+                        return invoke(method, statement, args);
+                    } finally {
+                        String executed = sql != null ? sql
+                                : args != null && args.length > 0 && args[0] instanceof String text ? text : null;
+                        record(System.nanoTime() - start, executed);
+                    }
+                });
+    }
+
+    private void record(long nanos, String sql) {
+        SqlStatistics statistics = SqlStatistics.current();
+        if (statistics != null) {
+            statistics.record(nanos);
+        }
+        if (nanos >= slowThresholdNanos && log.isWarnEnabled()) {
+            log.warn("Slow query ({} ms): {}", TimeUnit.NANOSECONDS.toMillis(nanos), sql == null ? "batch" : redact(sql));
+        }
+    }
+
+    static String redact(String sql) {
+        String redacted = STRING_LITERAL.matcher(sql).replaceAll("?");
+        redacted = NUMBER_LITERAL.matcher(redacted).replaceAll("?");
+        return redacted.replaceAll("\\s+", " ").trim();
+    }
+
+    private static Object invoke(Method method, Object target, Object[] args) throws Throwable {
+        try {
+            return method.invoke(target, args);
+        } catch (InvocationTargetException ex) {
+            throw ex.getTargetException();
+        }
+    }
+}
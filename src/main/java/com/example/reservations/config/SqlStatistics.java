@@ -0,0 +1,60 @@
+package com.example.reservations.config;
+
+import java.util.concurrent.TimeUnit;
+import org.slf4j.MDC;
+
+/**
+ * Number of executed statements and time spent in them for the request handled by the current
+ * thread. Statements outside of a request (startup, scheduled jobs, async exports) are not counted.
+ * The running totals are kept in the MDC as {@code sqlStatements} and {@code sqlTimeMs}, so every
+ * log line of the request carries them.
+ */
+final class SqlStatistics {
+
+    static final String MDC_STATEMENTS = "sqlStatements";
+    static final String MDC_TIME = "sqlTimeMs";
+
+    private static final ThreadLocal<SqlStatistics> CURRENT = new ThreadLocal<>();
+
+    private int statements;
+    private long nanos;
+
+    private SqlStatistics() {
+    }
+
+    static SqlStatistics start() {
+        SqlStatistics statistics = new SqlStatistics();
+        CURRENT.set(statistics);
+        statistics.publish();
+        return statistics;
+    }
+
+    static SqlStatistics current() {
+        return CURRENT.get();
+    }
+
+    static void clear() {
+        CURRENT.remove();
+        MDC.remove(MDC_STATEMENTS);
+        MDC.remove(MDC_TIME);
+    }
+
+    void record(long elapsedNanos) {
+        statements++;
+        nanos += elapsedNanos;
+        publish();
+    }
+
+    private void publish() {
+        MDC.put(MDC_STATEMENTS, Integer.toString(statements));
+        MDC.put(MDC_TIME, Long.toString(millis()));
+    }
+
+    int statements() {
+        return statements;
+    }
+
+    long millis() {
+        return TimeUnit.NANOSECONDS.toMillis(nanos);
+    }
+}
@@ -0,0 +1,60 @@
+package com.example.reservations.config;
+
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.web.servlet.AsyncHandlerInterceptor;
+import org.springframework.web.servlet.ModelAndView;
+
+/**
+ * Reports the statements a request executed as {@code X-Sql-Statements} and {@code X-Sql-Time}
+ * (milliseconds) response headers, as MDC fields for the whole request and on a closing debug log
+ * line. Response bodies written by message converters get the headers from
+ * {@link SqlStatisticsResponseBodyAdvice}, streamed exports get none.
+ */
+class SqlStatisticsInterceptor implements AsyncHandlerInterceptor {
+
+    static final String STATEMENTS_HEADER = "X-Sql-Statements";
+    static final String TIME_HEADER = "X-Sql-Time";
+
+    private static final Logger log = LoggerFactory.getLogger(SqlStatisticsInterceptor.class);
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        SqlStatistics.start();
+        return true;
+    }
+
+    @Override
+    public void postHandle(HttpServletRequest request, HttpServletResponse response, Object handler,
+                           ModelAndView modelAndView) {
+        // Views werden erst danach gerendert, ohne Open Session in View lösen sie keine Abfragen mehr aus
+        SqlStatistics statistics = SqlStatistics.current();
+        if (statistics != null && !response.isCommitted()) {
+            response.setHeader(STATEMENTS_HEADER, Integer.toString(statistics.statements()));
+            response.setHeader(TIME_HEADER, Long.toString(statistics.millis()));
+        }
+    }
+
+    @Override
+    public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler,
+                                Exception ex) {
+        SqlStatistics statistics = SqlStatistics.current();
+        try {
+            if (statistics != null) {
+                log.debug("{} {}: {} SQL statements in {} ms", request.getMethod(), request.getRequestURI(),
+                        statistics.statements(), statistics.millis());
+            }
+        } finally {
+            SqlStatistics.clear();
+        }
+    }
+
+    @Override
+    public void afterConcurrentHandlingStarted(HttpServletRequest request, HttpServletResponse response,
+                                               Object handler) {
+        // Asynchrone Requests (Exporte) geben den Thread hier frei, afterCompletion läuft dann nicht auf ihm
+        SqlStatistics.clear();
+    }
+}
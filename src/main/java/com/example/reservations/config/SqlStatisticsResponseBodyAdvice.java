@@ -0,0 +1,34 @@
+package com.example.reservations.config;
+
+import org.springframework.core.MethodParameter;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.http.server.ServerHttpRequest;
+import org.springframework.http.server.ServerHttpResponse;
+import org.springframework.web.bind.annotation.ControllerAdvice;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyAdvice;
+
+/**
+ * Adds the SQL statistics headers to {@code @ResponseBody} responses, which are already
+ * committed by the time {@link SqlStatisticsInterceptor#postHandle} runs.
+ */
+@ControllerAdvice
+class SqlStatisticsResponseBodyAdvice implements ResponseBodyAdvice<Object> {
+
+    @Override
+    public boolean supports(MethodParameter returnType, Class<? extends HttpMessageConverter<?>> converterType) {
+        return true;
+    }
+
+    @Override
+    public Object beforeBodyWrite(Object body, MethodParameter returnType, MediaType selectedContentType,
+                                  Class<? extends HttpMessageConverter<?>> selectedConverterType,
+                                  ServerHttpRequest request, ServerHttpResponse response) {
+        SqlStatistics statistics = SqlStatistics.current();
+        if (statistics != null) {
+            response.getHeaders().set(SqlStatisticsInterceptor.STATEMENTS_HEADER, Integer.toString(statistics.statements()));
+            response.getHeaders().set(SqlStatisticsInterceptor.TIME_HEADER, Long.toString(statistics.millis()));
+        }
+        return body;
+    }
+}
@@ -0,0 +1,32 @@
+package com.example.reservations.model;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Arrays;
+
+/**
+ * Fixed-width digest of an access key (the first 16 bytes of its SHA-256), stored in the
+ * {@code binary(16)} key hash columns. Lookups go through the small digest index instead of an
+ * index over the full utf8mb4 key.
+ */
+public final class AccessKeyDigest {
+
+    public static final int LENGTH = 16;
+
+    private AccessKeyDigest() {
+    }
+
+    public static byte[] of(String key) {
+        if (key == null) {
+            return null;
+        }
+        try {
+            byte[] sha256 = MessageDigest.getInstance("SHA-256").digest(key.getBytes(StandardCharsets.UTF_8));
+            return Arrays.copyOf(sha256, LENGTH);
+        } catch (NoSuchAlgorithmException ex) {
+            // SHA-256 muss jede Java-Plattform anbieten
+            throw new IllegalStateException(ex);
+        }
+    }
+}
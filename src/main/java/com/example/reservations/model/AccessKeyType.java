@@ -0,0 +1,45 @@
+package com.example.reservations.model;
+
+import java.util.Optional;
+
+/**
+ * Type marker carried by generated access keys, e.g. {@code pub.Q2hhbmdlTWUxMjM0}. The separator is
+ * not part of the URL-safe Base64 alphabet, so keys issued before the marker existed never match.
+ */
+public enum AccessKeyType {
+    PUBLIC("pub"),
+    PRIVATE("prv");
+
+    private static final char SEPARATOR = '.';
+
+    private final String marker;
+
+    AccessKeyType(String marker) {
+        this.marker = marker;
+    }
+
+    public String format(String randomPart) {
+        return marker + SEPARATOR + randomPart;
+    }
+
+    /**
+     * Returns the type encoded in the key, or empty for keys without a (known) marker.
+     */
+    public static Optional<AccessKeyType> of(String key) {
+        int separator = key.indexOf(SEPARATOR);
+        if (separator < 0) {
+            return Optional.empty();
+        }
+        String marker = key.substring(0, separator);
+        for (AccessKeyType type : values()) {
+            if (type.marker.equals(marker)) {
+                return Optional.of(type);
+            }
+        }
+        return Optional.empty();
+    }
+
+    public static boolean isTyped(String key) {
+        return key.indexOf(SEPARATOR) >= 0;
+    }
+}
@@ -7,15 +7,24 @@ import jakarta.persistence.Id;
 import jakarta.persistence.JoinColumn;
 import jakarta.persistence.ManyToOne;
 import jakarta.persistence.Table;
+import jakarta.persistence.TableGenerator;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.Pattern;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 
 @Entity
 @Table(name = "participants")
+// Die Collection-Region hält nur die Ids, die Teilnehmer selbst kommen aus dieser Region
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = Participant.CACHE_REGION)
 public class Participant {
 
+    public static final String CACHE_REGION = "participants";
+
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.TABLE, generator = "participant_ids")
+    @TableGenerator(name = "participant_ids", table = "id_generators", pkColumnName = "sequence_name",
+            valueColumnName = "next_val", pkColumnValue = "participants", allocationSize = 50)
     private Long id;
 
     @NotBlank(message = "Participant name is required")
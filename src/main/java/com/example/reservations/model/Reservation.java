@@ -10,6 +10,7 @@ import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
 import jakarta.persistence.OneToMany;
 import jakarta.persistence.Table;
+import jakarta.persistence.TableGenerator;
 import jakarta.validation.Valid;
 import jakarta.validation.constraints.Future;
 import jakarta.validation.constraints.Max;
@@ -17,16 +18,27 @@ import jakarta.validation.constraints.Min;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.NotNull;
 import jakarta.validation.constraints.Size;
+import org.hibernate.annotations.BatchSize;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+import org.hibernate.annotations.CreationTimestamp;
 import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.List;
 
 @Entity
 @Table(name = "reservations")
+// Second-Level-Cache nur mit dem Profil l2cache (hibernate.cache.use_second_level_cache)
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = Reservation.CACHE_REGION)
 public class Reservation {
 
+    public static final String CACHE_REGION = "reservations";
+    public static final String PARTICIPANTS_CACHE_REGION = "reservation-participants";
+
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.TABLE, generator = "reservation_ids")
+    @TableGenerator(name = "reservation_ids", table = "id_generators", pkColumnName = "sequence_name",
+            valueColumnName = "next_val", pkColumnValue = "reservations", allocationSize = 50)
     private Long id;
 
     @NotBlank(message = "Title is required")
@@ -40,7 +52,8 @@ public class Reservation {
     @Max(value = 105, message = "Room number must be between 101 and 105")
     private Integer roomNumber;
 
-    @Column(length = 1000)
+    // Die Länge kommt aus @Size (varchar(200), siehe V1)
+    @Column(length = 200)
     @NotBlank(message = "Remarks are required")
     @Size(min = 10, max = 200, message = "Remarks must be between 10 and 200 characters")
     private String description;
@@ -58,14 +71,25 @@ public class Reservation {
 
     private String accessCode;
 
-    @Column(unique = true)
+    // Eindeutigkeit und Suche über die Hash-Spalten, die Schlüssel selbst sind nicht indexiert
     private String publicKey;
 
-    @Column(unique = true)
     private String privateKey;
 
+    @Column(columnDefinition = "binary(16)", unique = true)
+    private byte[] publicKeyHash;
+
+    @Column(columnDefinition = "binary(16)", unique = true)
+    private byte[] privateKeyHash;
+
+    @CreationTimestamp
+    @Column(updatable = false)
+    private LocalDateTime createdAt;
+
     @Valid
     @OneToMany(mappedBy = "reservation", cascade = CascadeType.ALL, orphanRemoval = true)
+    @BatchSize(size = 50)
+    @Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = Reservation.PARTICIPANTS_CACHE_REGION)
     private List<Participant> participants = new ArrayList<>();
 
     public Reservation() {
@@ -161,6 +185,7 @@ public class Reservation {
 
     public void setPublicKey(String publicKey) {
         this.publicKey = publicKey;
+        this.publicKeyHash = AccessKeyDigest.of(publicKey);
     }
 
     public String getPrivateKey() {
@@ -169,5 +194,6 @@ public class Reservation {
 
     public void setPrivateKey(String privateKey) {
         this.privateKey = privateKey;
+        this.privateKeyHash = AccessKeyDigest.of(privateKey);
     }
 }
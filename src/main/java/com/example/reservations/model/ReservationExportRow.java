@@ -0,0 +1,12 @@
+package com.example.reservations.model;
+
+import java.time.LocalDateTime;
+
+/**
+ * One row of the export query: a reservation joined with one of its participants, or with none.
+ * Loaded through a constructor expression, so streaming it does not fill the persistence context.
+ */
+public record ReservationExportRow(Long id, String title, String location, Integer roomNumber, String description,
+                                   LocalDateTime startTime, LocalDateTime endTime, ReservationAccess accessType,
+                                   String participantName) {
+}
@@ -0,0 +1,58 @@
+package com.example.reservations.model;
+
+import java.time.LocalDateTime;
+
+/**
+ * Read-only row of the reservation overview. Loaded through a constructor expression, so it
+ * never enters the persistence context and carries neither the description nor the participants.
+ * Kept as a plain class: Thymeleaf resolves properties on records noticeably slower.
+ */
+public final class ReservationSummary {
+
+    private final Long id;
+    private final String title;
+    private final String location;
+    private final Integer roomNumber;
+    private final LocalDateTime startTime;
+    private final LocalDateTime endTime;
+    private final ReservationAccess accessType;
+
+    public ReservationSummary(Long id, String title, String location, Integer roomNumber,
+                              LocalDateTime startTime, LocalDateTime endTime, ReservationAccess accessType) {
+        this.id = id;
+        this.title = title;
+        this.location = location;
+        this.roomNumber = roomNumber;
+        this.startTime = startTime;
+        this.endTime = endTime;
+        this.accessType = accessType;
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public String getTitle() {
+        return title;
+    }
+
+    public String getLocation() {
+        return location;
+    }
+
+    public Integer getRoomNumber() {
+        return roomNumber;
+    }
+
+    public LocalDateTime getStartTime() {
+        return startTime;
+    }
+
+    public LocalDateTime getEndTime() {
+        return endTime;
+    }
+
+    public ReservationAccess getAccessType() {
+        return accessType;
+    }
+}
@@ -0,0 +1,15 @@
+package com.example.reservations.model;
+
+import java.time.LocalDateTime;
+
+public record RoomOccupancy(Long id, Integer roomNumber, LocalDateTime startTime, LocalDateTime endTime) {
+
+    public static RoomOccupancy of(Reservation reservation) {
+        return new RoomOccupancy(reservation.getId(), reservation.getRoomNumber(),
+                reservation.getStartTime(), reservation.getEndTime());
+    }
+
+    public boolean overlaps(LocalDateTime start, LocalDateTime end) {
+        return start.isBefore(endTime) && end.isAfter(startTime);
+    }
+}
@@ -0,0 +1,100 @@
+package com.example.reservations.model;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.EmbeddedId;
+import jakarta.persistence.Entity;
+import jakarta.persistence.PostLoad;
+import jakarta.persistence.PostPersist;
+import jakarta.persistence.Table;
+import jakarta.persistence.Transient;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+import org.springframework.data.domain.Persistable;
+
+/**
+ * One fixed-size time slot of a room claimed by a reservation. The primary key on
+ * (room_number, slot_start) lets the database reject a second claim of the same slot,
+ * even if it comes from another application instance.
+ */
+@Entity
+@Table(name = "room_slots")
+public class RoomSlot implements Persistable<RoomSlotId> {
+
+    public static final int SLOT_MINUTES = 15;
+
+    @EmbeddedId
+    private RoomSlotId id;
+
+    // Nur die Id: der Fremdschlüssel löscht die Slots mit der Reservierung, ohne dass Hibernate sie kennen muss
+    @Column(name = "reservation_id", nullable = false)
+    private Long reservationId;
+
+    // Zugewiesene Schlüssel: ohne dieses Flag würde save() vor jedem Insert ein Select absetzen
+    @Transient
+    private boolean isNew = true;
+
+    protected RoomSlot() {
+    }
+
+    public RoomSlot(Integer roomNumber, LocalDateTime slotStart, Long reservationId) {
+        this.id = new RoomSlotId(roomNumber, slotStart);
+        this.reservationId = reservationId;
+    }
+
+    /**
+     * Returns the starts of all slots touched by the given time range, from the slot containing
+     * {@code start} up to the one containing the last instant before {@code end}.
+     */
+    public static List<LocalDateTime> slotStarts(LocalDateTime start, LocalDateTime end) {
+        LocalDateTime slotStart = floor(start);
+        List<LocalDateTime> slotStarts = new ArrayList<>();
+        while (slotStart.isBefore(end)) {
+            slotStarts.add(slotStart);
+            slotStart = slotStart.plusMinutes(SLOT_MINUTES);
+        }
+        return slotStarts;
+    }
+
+    /**
+     * Start of the slot containing {@code time}.
+     */
+    public static LocalDateTime floor(LocalDateTime time) {
+        return time.truncatedTo(ChronoUnit.MINUTES).withMinute(time.getMinute() - time.getMinute() % SLOT_MINUTES);
+    }
+
+    /**
+     * First slot boundary at or after {@code time}.
+     */
+    public static LocalDateTime ceil(LocalDateTime time) {
+        LocalDateTime floor = floor(time);
+        return floor.isBefore(time) ? floor.plusMinutes(SLOT_MINUTES) : floor;
+    }
+
+    public static List<RoomSlot> claimsFor(Reservation reservation) {
+        return slotStarts(reservation.getStartTime(), reservation.getEndTime()).stream()
+                .map(slotStart -> new RoomSlot(reservation.getRoomNumber(), slotStart, reservation.getId()))
+                .toList();
+    }
+
+    @Override
+    public RoomSlotId getId() {
+        return id;
+    }
+
+    public Long getReservationId() {
+        return reservationId;
+    }
+
+    @Override
+    public boolean isNew() {
+        return isNew;
+    }
+
+    @PostLoad
+    @PostPersist
+    void markNotNew() {
+        this.isNew = false;
+    }
+}
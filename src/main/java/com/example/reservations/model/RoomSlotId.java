@@ -0,0 +1,49 @@
+package com.example.reservations.model;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Embeddable;
+import java.io.Serializable;
+import java.time.LocalDateTime;
+import java.util.Objects;
+
+@Embeddable
+public class RoomSlotId implements Serializable {
+
+    @Column(name = "room_number")
+    private Integer roomNumber;
+
+    @Column(name = "slot_start")
+    private LocalDateTime slotStart;
+
+    protected RoomSlotId() {
+    }
+
+    public RoomSlotId(Integer roomNumber, LocalDateTime slotStart) {
+        this.roomNumber = roomNumber;
+        this.slotStart = slotStart;
+    }
+
+    public Integer getRoomNumber() {
+        return roomNumber;
+    }
+
+    public LocalDateTime getSlotStart() {
+        return slotStart;
+    }
+
+    @Override
+    public boolean equals(Object other) {
+        if (this == other) {
+            return true;
+        }
+        if (!(other instanceof RoomSlotId that)) {
+            return false;
+        }
+        return Objects.equals(roomNumber, that.roomNumber) && Objects.equals(slotStart, that.slotStart);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(roomNumber, slotStart);
+    }
+}
@@ -1,23 +1,132 @@
 package com.example.reservations.repository;
 
+import com.example.reservations.model.AccessKeyDigest;
 import com.example.reservations.model.Reservation;
 import com.example.reservations.model.ReservationAccess;
+import com.example.reservations.model.ReservationExportRow;
+import com.example.reservations.model.ReservationSummary;
+import com.example.reservations.model.RoomOccupancy;
+import jakarta.persistence.QueryHint;
 import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 
 public interface ReservationRepository extends JpaRepository<Reservation, Long> {
 
+    // Query-Cache-Regionen, nur mit dem Profil l2cache aktiv
+    String BY_ID_CACHE_REGION = "reservation-by-id";
+    String KEY_LOOKUP_CACHE_REGION = "reservation-key-lookups";
+
     boolean existsByStartTimeLessThanAndEndTimeGreaterThan(LocalDateTime endTime, LocalDateTime startTime);
 
     boolean existsByRoomNumberAndStartTimeLessThanAndEndTimeGreaterThan(Integer roomNumber, LocalDateTime endTime, LocalDateTime startTime);
 
+    boolean existsByRoomNumberAndStartTimeLessThanAndEndTimeGreaterThanAndIdNot(Integer roomNumber, LocalDateTime endTime, LocalDateTime startTime, Long id);
+
     List<Reservation> findByAccessType(ReservationAccess accessType);
 
     List<Reservation> findByRoomNumber(Integer roomNumber);
 
-    Optional<Reservation> findByPublicKey(String publicKey);
+    @EntityGraph(attributePaths = "participants")
+    @QueryHints({@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"),
+            @QueryHint(name = HibernateHints.HINT_CACHE_REGION, value = BY_ID_CACHE_REGION)})
+    Optional<Reservation> findWithParticipantsById(Long id);
+
+    // Gesucht wird über den Hash-Index, der Vergleich mit dem Schlüssel schliesst Kollisionen aus
+    default Optional<Reservation> findByPublicKey(String publicKey) {
+        return findByPublicKeyHashAndPublicKey(AccessKeyDigest.of(publicKey), publicKey);
+    }
+
+    default Optional<Reservation> findByPrivateKey(String privateKey) {
+        return findByPrivateKeyHashAndPrivateKey(AccessKeyDigest.of(privateKey), privateKey);
+    }
+
+    default Optional<Long> findIdByPublicKey(String publicKey) {
+        return findIdByPublicKeyHash(AccessKeyDigest.of(publicKey), publicKey);
+    }
+
+    default Optional<Long> findIdByPrivateKey(String privateKey) {
+        return findIdByPrivateKeyHash(AccessKeyDigest.of(privateKey), privateKey);
+    }
+
+    @QueryHints({@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"),
+            @QueryHint(name = HibernateHints.HINT_CACHE_REGION, value = KEY_LOOKUP_CACHE_REGION)})
+    @EntityGraph(attributePaths = "participants")
+    Optional<Reservation> findByPublicKeyHashAndPublicKey(byte[] publicKeyHash, String publicKey);
+
+    @QueryHints({@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"),
+            @QueryHint(name = HibernateHints.HINT_CACHE_REGION, value = KEY_LOOKUP_CACHE_REGION)})
+    @EntityGraph(attributePaths = "participants")
+    Optional<Reservation> findByPrivateKeyHashAndPrivateKey(byte[] privateKeyHash, String privateKey);
+
+    @QueryHints({@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"),
+            @QueryHint(name = HibernateHints.HINT_CACHE_REGION, value = KEY_LOOKUP_CACHE_REGION)})
+    @Query("select r.id from Reservation r where r.publicKeyHash = :hash and r.publicKey = :publicKey")
+    Optional<Long> findIdByPublicKeyHash(byte[] hash, String publicKey);
+
+    @QueryHints({@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"),
+            @QueryHint(name = HibernateHints.HINT_CACHE_REGION, value = KEY_LOOKUP_CACHE_REGION)})
+    @Query("select r.id from Reservation r where r.privateKeyHash = :hash and r.privateKey = :privateKey")
+    Optional<Long> findIdByPrivateKeyHash(byte[] hash, String privateKey);
+
+    // Mit useCursorFetch=true liest MySQL in Blöcken der Fetch-Size statt das ganze Resultat zu puffern
+    @Query("select r.publicKey from Reservation r where r.publicKey is not null")
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"))
+    Stream<String> streamAllPublicKeys();
+
+    @Query("select r.privateKey from Reservation r where r.privateKey is not null")
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"))
+    Stream<String> streamAllPrivateKeys();
+
+    @Query("select r.publicKey from Reservation r where r.createdAt >= :since and r.publicKey is not null")
+    List<String> findPublicKeysCreatedSince(LocalDateTime since);
+
+    @Query("select r.privateKey from Reservation r where r.createdAt >= :since and r.privateKey is not null")
+    List<String> findPrivateKeysCreatedSince(LocalDateTime since);
+
+    String SUMMARY_SELECT = "select new com.example.reservations.model.ReservationSummary("
+            + "r.id, r.title, r.location, r.roomNumber, r.startTime, r.endTime, r.accessType) from Reservation r ";
+
+    @Query(SUMMARY_SELECT + "where (:from is null or r.endTime > :from) "
+            + "order by r.startTime asc, r.id asc")
+    List<ReservationSummary> findFirstPage(LocalDateTime from, Limit limit);
+
+    @Query(SUMMARY_SELECT + "where (:from is null or r.endTime > :from) "
+            + "and (r.startTime > :startTime or (r.startTime = :startTime and r.id > :id)) "
+            + "order by r.startTime asc, r.id asc")
+    List<ReservationSummary> findPageAfter(LocalDateTime from, LocalDateTime startTime, Long id, Limit limit);
+
+    @Query(SUMMARY_SELECT + "where (:from is null or r.endTime > :from) "
+            + "and (r.startTime < :startTime or (r.startTime = :startTime and r.id < :id)) "
+            + "order by r.startTime desc, r.id desc")
+    List<ReservationSummary> findPageBefore(LocalDateTime from, LocalDateTime startTime, Long id, Limit limit);
+
+    @Query("select new com.example.reservations.model.RoomOccupancy(r.id, r.roomNumber, r.startTime, r.endTime) "
+            + "from Reservation r where r.endTime > :after")
+    List<RoomOccupancy> findOccupanciesEndingAfter(LocalDateTime after);
+
+    @Query("select new com.example.reservations.model.RoomOccupancy(r.id, r.roomNumber, r.startTime, r.endTime) "
+            + "from Reservation r where r.startTime < :to and r.endTime > :from "
+            + "order by r.roomNumber asc, r.startTime asc")
+    List<RoomOccupancy> findOccupanciesOverlapping(LocalDateTime from, LocalDateTime to);
 
-    Optional<Reservation> findByPrivateKey(String privateKey);
+    // Beschreibung und Teilnehmer privater Reservierungen sind nur mit Zugangscode sichtbar und werden nicht exportiert
+    @Query("select new com.example.reservations.model.ReservationExportRow(r.id, r.title, r.location, r.roomNumber, "
+            + "case when r.accessType = com.example.reservations.model.ReservationAccess.PUBLIC then r.description end, "
+            + "r.startTime, r.endTime, r.accessType, p.name) "
+            + "from Reservation r left join r.participants p "
+            + "on r.accessType = com.example.reservations.model.ReservationAccess.PUBLIC "
+            + "where (:roomNumber is null or r.roomNumber = :roomNumber) "
+            + "and (:from is null or r.endTime > :from) "
+            + "and (:to is null or r.startTime < :to) "
+            + "order by r.startTime asc, r.id asc, p.id asc")
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"))
+    Stream<ReservationExportRow> streamExportRows(Integer roomNumber, LocalDateTime from, LocalDateTime to);
 }
@@ -0,0 +1,14 @@
+package com.example.reservations.repository;
+
+import com.example.reservations.model.RoomSlot;
+import com.example.reservations.model.RoomSlotId;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+
+public interface RoomSlotRepository extends JpaRepository<RoomSlot, RoomSlotId> {
+
+    @Modifying
+    @Query("delete from RoomSlot s where s.reservationId = :reservationId")
+    void deleteByReservationId(Long reservationId);
+}
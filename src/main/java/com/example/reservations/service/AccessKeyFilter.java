@@ -0,0 +1,122 @@
+package com.example.reservations.service;
+
+import com.example.reservations.repository.ReservationRepository;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.stream.Stream;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationStartedEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Bloom filter over all issued public and private keys, so that unknown keys can be rejected
+ * without a database lookup. Keys of deleted reservations stay in the filter until the next
+ * periodic rebuild; that only costs a lookup, never a wrongly rejected key. Keys issued by other
+ * instances are loaded every {@code refresh-interval} by their creation time.
+ */
+@Component
+public class AccessKeyFilter {
+
+    private static final Logger log = LoggerFactory.getLogger(AccessKeyFilter.class);
+
+    // Deckt Commit-Verzögerung und Uhrabweichung zwischen den Instanzen ab
+    private static final Duration REFRESH_OVERLAP = Duration.ofMinutes(1);
+
+    private final ReservationRepository reservationRepository;
+    private final long expectedKeys;
+    private final double falsePositiveRate;
+    private final ReentrantLock rebuildLock = new ReentrantLock();
+
+    private volatile BloomFilter current;
+    // Keys, die während eines Neuaufbaus ausgestellt werden
+    private volatile Queue<String> pending;
+    private LocalDateTime loadedUntil;
+
+    public AccessKeyFilter(ReservationRepository reservationRepository,
+                           @Value("${reservations.access-key-filter.expected-keys:100000}") long expectedKeys,
+                           @Value("${reservations.access-key-filter.false-positive-rate:0.01}") double falsePositiveRate) {
+        this.reservationRepository = reservationRepository;
+        this.expectedKeys = expectedKeys;
+        this.falsePositiveRate = falsePositiveRate;
+    }
+
+    public boolean mightContain(String key) {
+        BloomFilter filter = current;
+        // Solange der Filter noch nicht geladen ist, entscheidet die Datenbank
+        return filter == null || filter.mightContain(key);
+    }
+
+    public void add(String key) {
+        // Erst vormerken, dann eintragen: rebuild() übernimmt die Liste erst, nachdem der neue Filter aktiv ist
+        Queue<String> rebuilding = pending;
+        if (rebuilding != null) {
+            rebuilding.add(key);
+        }
+        BloomFilter filter = current;
+        if (filter != null) {
+            filter.put(key);
+        }
+    }
+
+    @EventListener(ApplicationStartedEvent.class)
+    @Scheduled(initialDelayString = "${reservations.access-key-filter.rebuild-interval:PT5M}",
+            fixedDelayString = "${reservations.access-key-filter.rebuild-interval:PT5M}")
+    @Transactional(readOnly = true)
+    public void rebuild() {
+        if (!rebuildLock.tryLock()) {
+            return;
+        }
+        try {
+            // Vor der ersten Abfrage setzen, sonst fehlen Keys, die nach dem Snapshot der Transaktion committen
+            Queue<String> added = new ConcurrentLinkedQueue<>();
+            pending = added;
+            LocalDateTime start = LocalDateTime.now();
+            long keyCount = 2 * reservationRepository.count();
+            BloomFilter filter = new BloomFilter(Math.max(expectedKeys, 2 * keyCount), falsePositiveRate);
+            try (Stream<String> publicKeys = reservationRepository.streamAllPublicKeys()) {
+                publicKeys.forEach(filter::put);
+            }
+            try (Stream<String> privateKeys = reservationRepository.streamAllPrivateKeys()) {
+                privateKeys.forEach(filter::put);
+            }
+            current = filter;
+            added.forEach(filter::put);
+            loadedUntil = start;
+            log.info("Access key filter rebuilt for {} keys ({} bits, {} hash functions)",
+                    keyCount, filter.bitCount(), filter.hashCount());
+        } finally {
+            pending = null;
+            rebuildLock.unlock();
+        }
+    }
+
+    @Scheduled(initialDelayString = "${reservations.access-key-filter.refresh-interval:PT10S}",
+            fixedDelayString = "${reservations.access-key-filter.refresh-interval:PT10S}")
+    @Transactional(readOnly = true)
+    public void refresh() {
+        // Während eines Neuaufbaus nicht nötig, der Zeitpunkt bleibt dann für den nächsten Lauf stehen
+        if (!rebuildLock.tryLock()) {
+            return;
+        }
+        try {
+            if (loadedUntil == null) {
+                return;
+            }
+            LocalDateTime start = LocalDateTime.now();
+            LocalDateTime since = loadedUntil.minus(REFRESH_OVERLAP);
+            reservationRepository.findPublicKeysCreatedSince(since).forEach(this::add);
+            reservationRepository.findPrivateKeysCreatedSince(since).forEach(this::add);
+            loadedUntil = start;
+        } finally {
+            rebuildLock.unlock();
+        }
+    }
+}
@@ -0,0 +1,6 @@
+package com.example.reservations.service;
+
+import com.example.reservations.model.AccessKeyType;
+
+public record AccessKeyMatch(Long reservationId, AccessKeyType type) {
+}
@@ -0,0 +1,6 @@
+package com.example.reservations.service;
+
+import java.time.LocalDateTime;
+
+public record FreeSlot(Integer roomNumber, LocalDateTime startTime, LocalDateTime endTime) {
+}
@@ -0,0 +1,39 @@
+package com.example.reservations.service;
+
+import com.example.reservations.model.ReservationSummary;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+
+/**
+ * Position in the reservation listing, encoded as {@code <startTime>_<id>} for use in URLs.
+ */
+public record ReservationCursor(LocalDateTime startTime, Long id) {
+
+    private static final char SEPARATOR = '_';
+
+    public static ReservationCursor of(ReservationSummary reservation) {
+        return new ReservationCursor(reservation.getStartTime(), reservation.getId());
+    }
+
+    public static ReservationCursor parse(String value) {
+        if (value == null || value.isBlank()) {
+            return null;
+        }
+        int separator = value.lastIndexOf(SEPARATOR);
+        if (separator < 0) {
+            throw new IllegalArgumentException("Ungültige Seitenposition");
+        }
+        try {
+            return new ReservationCursor(
+                    LocalDateTime.parse(value.substring(0, separator)),
+                    Long.valueOf(value.substring(separator + 1)));
+        } catch (DateTimeParseException | NumberFormatException ex) {
+            throw new IllegalArgumentException("Ungültige Seitenposition", ex);
+        }
+    }
+
+    @Override
+    public String toString() {
+        return startTime.toString() + SEPARATOR + id;
+    }
+}
@@ -0,0 +1,19 @@
+package com.example.reservations.service;
+
+import com.example.reservations.model.ReservationAccess;
+import com.example.reservations.model.ReservationExportRow;
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Exported reservation with its participants joined by commas, the same shape the import reads.
+ */
+public record ReservationExport(Long id, String title, String location, Integer roomNumber, String description,
+                                LocalDateTime startTime, LocalDateTime endTime, ReservationAccess accessType,
+                                String participants) {
+
+    static ReservationExport of(ReservationExportRow row, List<String> participantNames) {
+        return new ReservationExport(row.id(), row.title(), row.location(), row.roomNumber(), row.description(),
+                row.startTime(), row.endTime(), row.accessType(), String.join(", ", participantNames));
+    }
+}
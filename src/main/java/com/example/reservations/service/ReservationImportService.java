@@ -0,0 +1,59 @@
+package com.example.reservations.service;
+
+import com.example.reservations.model.Participant;
+import com.example.reservations.model.Reservation;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Service;
+
+@Service
+public class ReservationImportService {
+
+    private static final Logger log = LoggerFactory.getLogger(ReservationImportService.class);
+
+    private final ReservationService reservationService;
+
+    public ReservationImportService(ReservationService reservationService) {
+        this.reservationService = reservationService;
+    }
+
+    /**
+     * Imports one chunk in a single transaction. If the chunk loses a slot claim to another
+     * instance, its rows are imported again one by one so that only the conflicting rows fail.
+     */
+    public Map<Integer, String> importChunk(List<Reservation> reservations) {
+        try {
+            return reservationService.importReservations(reservations);
+        } catch (RoomSlotConflictException ex) {
+            log.info("Import chunk of {} rows lost a slot claim, importing row by row", reservations.size());
+        }
+
+        Map<Integer, String> errors = new LinkedHashMap<>();
+        for (int i = 0; i < reservations.size(); i++) {
+            try {
+                // Die Entitäten aus dem zurückgerollten Versuch haben bereits Ids und Schlüssel
+                reservationService.createReservation(copyOf(reservations.get(i)));
+            } catch (IllegalArgumentException | IllegalStateException ex) {
+                errors.put(i, ex.getMessage());
+            }
+        }
+        return errors;
+    }
+
+    private static Reservation copyOf(Reservation source) {
+        Reservation copy = new Reservation();
+        copy.setTitle(source.getTitle());
+        copy.setLocation(source.getLocation());
+        copy.setRoomNumber(source.getRoomNumber());
+        copy.setDescription(source.getDescription());
+        copy.setStartTime(source.getStartTime());
+        copy.setEndTime(source.getEndTime());
+        copy.setAccessType(source.getAccessType());
+        copy.setAccessCode(source.getAccessCode());
+        source.getParticipants().forEach(participant -> copy.addParticipant(new Participant(participant.getName())));
+        return copy;
+    }
+}
@@ -0,0 +1,52 @@
+package com.example.reservations.service;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.stereotype.Component;
+
+/**
+ * Counters for rejected requests. The tag tells which check caught the request, e.g. whether a
+ * conflict was already visible in the room index or only surfaced when claiming the slots.
+ */
+@Component
+public class ReservationMetrics {
+
+    private final MeterRegistry meterRegistry;
+
+    public ReservationMetrics(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+    }
+
+    /**
+     * @param check {@code index}, {@code database} or {@code slots}
+     */
+    public void conflictRejected(String check) {
+        Counter.builder("reservations.conflicts")
+                .description("Reservations rejected because the room was already booked, by the check that caught it")
+                .tag("check", check)
+                .register(meterRegistry)
+                .increment();
+    }
+
+    /**
+     * @param check {@code filter}, {@code database} or {@code private-key}
+     */
+    public void invalidAccessKey(String check) {
+        Counter.builder("reservations.access_keys.invalid")
+                .description("Access keys that did not match any reservation, by the check that rejected them")
+                .tag("check", check)
+                .register(meterRegistry)
+                .increment();
+    }
+
+    /**
+     * @param stage {@code form} for bean validation errors, {@code service} for the checks in the service
+     */
+    public void validationFailed(String stage) {
+        Counter.builder("reservations.validation.failures")
+                .description("Reservations rejected as invalid")
+                .tag("stage", stage)
+                .register(meterRegistry)
+                .increment();
+    }
+}
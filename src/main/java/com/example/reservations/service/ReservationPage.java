@@ -0,0 +1,15 @@
+package com.example.reservations.service;
+
+import com.example.reservations.model.ReservationSummary;
+import java.util.List;
+
+public record ReservationPage(List<ReservationSummary> reservations, ReservationCursor previous, ReservationCursor next) {
+
+    public boolean hasPrevious() {
+        return previous != null;
+    }
+
+    public boolean hasNext() {
+        return next != null;
+    }
+}
@@ -1,59 +1,281 @@
 package com.example.reservations.service;
 
+import com.example.reservations.model.AccessKeyType;
 import com.example.reservations.model.Participant;
 import com.example.reservations.model.Reservation;
 import com.example.reservations.model.ReservationAccess;
+import com.example.reservations.model.ReservationExportRow;
+import com.example.reservations.model.ReservationSummary;
+import com.example.reservations.model.RoomOccupancy;
+import com.example.reservations.model.RoomSlot;
 import com.example.reservations.repository.ReservationRepository;
-import java.security.SecureRandom;
+import com.example.reservations.repository.RoomSlotRepository;
+import io.micrometer.core.annotation.Timed;
 import java.time.LocalDateTime;
-import java.util.Base64;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
+import java.util.function.Consumer;
 import java.util.regex.Pattern;
+import java.util.stream.Stream;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationStartedEvent;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Sort;
+import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
 @Service
+@Timed(value = "reservations.service", description = "ReservationService calls, by method", histogram = true)
 public class ReservationService {
 
+    private static final Logger log = LoggerFactory.getLogger(ReservationService.class);
+
+    public static final String CACHE_BY_ID = "reservationsById";
+    public static final String CACHE_BY_PUBLIC_KEY = "reservationsByPublicKey";
+    public static final String CACHE_BY_PRIVATE_KEY = "reservationsByPrivateKey";
+    public static final String CACHE_ACCESS_KEYS = "accessKeys";
+
+    private static final String CONFLICT_MESSAGE = "Der ausgewählte Raum und Zeitslot kollidiert mit einer bestehenden Reservierung";
+
     private final ReservationRepository reservationRepository;
-    private static final SecureRandom secureRandom = new SecureRandom();
+    private final RoomSlotRepository roomSlotRepository;
+    private final RoomScheduleIndex roomScheduleIndex;
+    private final CacheManager cacheManager;
+    private final AccessKeyFilter accessKeyFilter;
+    private final RoomLocks roomLocks;
+    private final ReservationMetrics reservationMetrics;
+    private final SecureKeyPool secureKeyPool;
+    private final ReservationVersions reservationVersions;
+    private final TransactionTemplate transactionTemplate;
     private static final Pattern PARTICIPANT_NAME_PATTERN =
             Pattern.compile("^[A-Za-zÄÖÜäöüß]+(?:\\s+[A-Za-zÄÖÜäöüß]+)*$");
 
-    public ReservationService(ReservationRepository reservationRepository) {
+    public ReservationService(ReservationRepository reservationRepository, RoomSlotRepository roomSlotRepository,
+                              RoomScheduleIndex roomScheduleIndex, CacheManager cacheManager,
+                              AccessKeyFilter accessKeyFilter, RoomLocks roomLocks,
+                              ReservationMetrics reservationMetrics, SecureKeyPool secureKeyPool,
+                              ReservationVersions reservationVersions, TransactionTemplate transactionTemplate) {
         this.reservationRepository = reservationRepository;
+        this.roomSlotRepository = roomSlotRepository;
+        this.roomScheduleIndex = roomScheduleIndex;
+        this.cacheManager = cacheManager;
+        this.accessKeyFilter = accessKeyFilter;
+        this.roomLocks = roomLocks;
+        this.reservationMetrics = reservationMetrics;
+        this.secureKeyPool = secureKeyPool;
+        this.reservationVersions = reservationVersions;
+        this.transactionTemplate = transactionTemplate;
+    }
+
+    @EventListener(ApplicationStartedEvent.class)
+    public void rebuildRoomScheduleIndex() {
+        // Vergangene Reservierungen können mit neuen (zukünftigen) nicht mehr kollidieren
+        roomScheduleIndex.rebuild(reservationRepository.findOccupanciesEndingAfter(LocalDateTime.now()));
+        log.info("Room schedule index built with {} reservations", roomScheduleIndex.size());
     }
 
+    @Scheduled(initialDelayString = "${reservations.room-schedule-index.prune-interval:PT15M}",
+            fixedDelayString = "${reservations.room-schedule-index.prune-interval:PT15M}")
+    public void pruneRoomScheduleIndex() {
+        int removed = roomScheduleIndex.removeEndedBefore(LocalDateTime.now());
+        log.debug("Removed {} ended reservations from the room schedule index", removed);
+    }
+
+    @Transactional(readOnly = true)
     public List<Reservation> findAll() {
         return reservationRepository.findAll(Sort.by("startTime"));
     }
 
+    /**
+     * Returns one page of the listing ordered by start time, using the (start_time, id) of the
+     * neighbouring page as seek position so that deep pages cost the same as the first one.
+     * If {@code from} is set, only reservations ending after it are listed.
+     */
+    @Transactional(readOnly = true)
+    public ReservationPage findPage(LocalDateTime from, ReservationCursor after, ReservationCursor before, int size) {
+        Limit limit = Limit.of(size + 1);
+
+        if (before != null) {
+            List<ReservationSummary> reservations = new ArrayList<>(reservationRepository.findPageBefore(
+                    from, before.startTime(), before.id(), limit));
+            boolean hasPrevious = reservations.size() > size;
+            if (hasPrevious) {
+                reservations.remove(size);
+            }
+            Collections.reverse(reservations);
+            return toPage(reservations, hasPrevious, true);
+        }
+
+        List<ReservationSummary> reservations = new ArrayList<>(after == null
+                ? reservationRepository.findFirstPage(from, limit)
+                : reservationRepository.findPageAfter(from, after.startTime(), after.id(), limit));
+        boolean hasNext = reservations.size() > size;
+        if (hasNext) {
+            reservations.remove(size);
+        }
+        return toPage(reservations, after != null, hasNext);
+    }
+
+    private ReservationPage toPage(List<ReservationSummary> reservations, boolean hasPrevious, boolean hasNext) {
+        if (reservations.isEmpty()) {
+            return new ReservationPage(reservations, null, null);
+        }
+        return new ReservationPage(reservations,
+                hasPrevious ? ReservationCursor.of(reservations.get(0)) : null,
+                hasNext ? ReservationCursor.of(reservations.get(reservations.size() - 1)) : null);
+    }
+
+    /**
+     * Passes the reservations matching the filters to {@code consumer} in start time order. All rows
+     * come from one query with the participants joined in and are read through a cursor, so memory
+     * use does not grow with the number of reservations.
+     */
+    @Transactional(readOnly = true)
+    public void exportReservations(Integer roomNumber, LocalDateTime from, LocalDateTime to,
+                                   Consumer<ReservationExport> consumer) {
+        try (Stream<ReservationExportRow> rows = reservationRepository.streamExportRows(roomNumber, from, to)) {
+            ReservationExportRow current = null;
+            List<String> participantNames = new ArrayList<>();
+            for (Iterator<ReservationExportRow> iterator = rows.iterator(); iterator.hasNext(); ) {
+                ReservationExportRow row = iterator.next();
+                if (current != null && !current.id().equals(row.id())) {
+                    consumer.accept(ReservationExport.of(current, participantNames));
+                    participantNames.clear();
+                }
+                current = row;
+                if (row.participantName() != null) {
+                    participantNames.add(row.participantName());
+                }
+            }
+            if (current != null) {
+                consumer.accept(ReservationExport.of(current, participantNames));
+            }
+        }
+    }
+
+    @Transactional(readOnly = true)
+    @Cacheable(cacheNames = CACHE_BY_ID, unless = "#result == null")
     public Optional<Reservation> findById(Long id) {
-        return reservationRepository.findById(id);
+        return reservationRepository.findWithParticipantsById(id);
     }
 
+    @Transactional(readOnly = true)
     public List<Reservation> findByAccessType(ReservationAccess accessType) {
         return reservationRepository.findByAccessType(accessType);
     }
 
-    @Transactional
     public Reservation createReservation(Reservation reservation) {
+        // Sperre vor dem ersten Lesen holen, damit die Konfliktprüfung den neuesten Stand sieht
+        return roomLocks.callLocked(Collections.singletonList(reservation.getRoomNumber()),
+                () -> transactionTemplate.execute(status -> create(reservation)));
+    }
+
+    private Reservation create(Reservation reservation) {
         validateReservation(reservation);
         generateKeys(reservation);
-        return reservationRepository.save(reservation);
+        // Reservierung und Teilnehmer zuerst als Batch schreiben, die Slots verweisen per Fremdschlüssel darauf
+        Reservation saved = reservationRepository.saveAndFlush(reservation);
+        claimRoomSlots(RoomSlot.claimsFor(saved));
+        Long id = saved.getId();
+        AfterCommit.run(() -> reservationVersions.changed(id));
+        return saved;
     }
 
-    private void generateKeys(Reservation reservation) {
-        reservation.setPublicKey(generateSecureKey());
-        reservation.setPrivateKey(generateSecureKey());
+    /**
+     * Claims the given room slots and flushes right away, so a slot already taken
+     * by another instance fails here instead of at commit. The JVM-local checks before only
+     * avoid the round trip, the primary key of room_slots is what rules out double bookings.
+     */
+    private void claimRoomSlots(List<RoomSlot> claims) {
+        try {
+            roomSlotRepository.saveAllAndFlush(claims);
+        } catch (DataIntegrityViolationException ex) {
+            reservationMetrics.conflictRejected("slots");
+            throw new RoomSlotConflictException(CONFLICT_MESSAGE, ex);
+        }
     }
 
-    private String generateSecureKey() {
-        byte[] randomBytes = new byte[12];
-        secureRandom.nextBytes(randomBytes);
-        return Base64.getUrlEncoder().withoutPadding().encodeToString(randomBytes);
+    /**
+     * Saves a chunk of imported reservations in one transaction and returns the errors of the
+     * rejected rows by their position in the chunk. Conflicts are checked against the earlier rows
+     * of the chunk and against room index hits confirmed by the database; the slot claims at the
+     * end are the authoritative check and fail the whole chunk with a
+     * {@link RoomSlotConflictException} if another instance got there first.
+     */
+    public Map<Integer, String> importReservations(List<Reservation> reservations) {
+        return roomLocks.callLocked(reservations.stream().map(Reservation::getRoomNumber).toList(),
+                () -> transactionTemplate.execute(status -> importChunk(reservations)));
+    }
+
+    private Map<Integer, String> importChunk(List<Reservation> reservations) {
+        Map<Integer, String> errors = new LinkedHashMap<>();
+        RoomScheduleIndex chunkIndex = new RoomScheduleIndex();
+        List<RoomSlot> claims = new ArrayList<>();
+        List<Long> importedIds = new ArrayList<>();
+        for (int i = 0; i < reservations.size(); i++) {
+            Reservation reservation = reservations.get(i);
+            try {
+                validateDetails(reservation);
+                if (reservation.getRoomNumber() == null) {
+                    throw new IllegalArgumentException("Raumnummer ist erforderlich");
+                }
+                if (chunkIndex.hasConflict(reservation.getRoomNumber(), reservation.getStartTime(), reservation.getEndTime(), null)) {
+                    reservationMetrics.conflictRejected("index");
+                    throw new IllegalStateException(CONFLICT_MESSAGE);
+                }
+                // Treffer im lokalen Index bestätigen, er kann veraltete Einträge anderer Instanzen enthalten
+                if (roomScheduleIndex.hasConflict(reservation.getRoomNumber(), reservation.getStartTime(), reservation.getEndTime(), null)
+                        && existsOverlappingReservation(reservation.getRoomNumber(), reservation.getStartTime(), reservation.getEndTime(), null)) {
+                    reservationMetrics.conflictRejected("index");
+                    throw new IllegalStateException(CONFLICT_MESSAGE);
+                }
+            } catch (IllegalArgumentException | IllegalStateException ex) {
+                errors.put(i, ex.getMessage());
+                continue;
+            }
+
+            generateKeys(reservation);
+            Reservation saved = reservationRepository.save(reservation);
+            importedIds.add(saved.getId());
+            chunkIndex.put(RoomOccupancy.of(saved));
+            claims.addAll(RoomSlot.claimsFor(saved));
+        }
+
+        reservationRepository.flush();
+        claimRoomSlots(claims);
+        if (!importedIds.isEmpty()) {
+            AfterCommit.run(() -> reservationVersions.changed(importedIds));
+        }
+        return errors;
+    }
+
+    private void generateKeys(Reservation reservation) {
+        String publicKey = AccessKeyType.PUBLIC.format(secureKeyPool.nextKey());
+        String privateKey = AccessKeyType.PRIVATE.format(secureKeyPool.nextKey());
+        reservation.setPublicKey(publicKey);
+        reservation.setPrivateKey(privateKey);
+
+        // Sofort und nach dem Commit nochmals eintragen, damit ein paralleler Neuaufbau des Filters sie nicht verliert
+        accessKeyFilter.add(publicKey);
+        accessKeyFilter.add(privateKey);
+        AfterCommit.run(() -> {
+            accessKeyFilter.add(publicKey);
+            accessKeyFilter.add(privateKey);
+        });
     }
 
     private void validateReservation(Reservation reservation) {
@@ -61,6 +283,30 @@ public class ReservationService {
     }
 
     private void validateReservation(Reservation reservation, Long excludeId) {
+        validateDetails(reservation);
+
+        Integer roomNumber = reservation.getRoomNumber();
+        if (roomNumber != null) {
+            // Ein Treffer im lokalen Index ist nur ein Hinweis: Löschungen und Verschiebungen auf anderen
+            // Instanzen kennt er nicht. Massgebend ist die Abfrage, abgelehnt wird nur, was sie bestätigt.
+            boolean indexHit = roomScheduleIndex.hasConflict(roomNumber, reservation.getStartTime(), reservation.getEndTime(), excludeId);
+            if (existsOverlappingReservation(roomNumber, reservation.getStartTime(), reservation.getEndTime(), excludeId)) {
+                reservationMetrics.conflictRejected(indexHit ? "index" : "database");
+                throw new IllegalStateException(CONFLICT_MESSAGE);
+            }
+        }
+    }
+
+    private void validateDetails(Reservation reservation) {
+        try {
+            checkDetails(reservation);
+        } catch (IllegalArgumentException ex) {
+            reservationMetrics.validationFailed("service");
+            throw ex;
+        }
+    }
+
+    private void checkDetails(Reservation reservation) {
         LocalDateTime start = reservation.getStartTime();
         LocalDateTime end = reservation.getEndTime();
         LocalDateTime now = LocalDateTime.now();
@@ -81,18 +327,6 @@ public class ReservationService {
             throw new IllegalArgumentException("Endzeit muss in der Zukunft liegen");
         }
 
-        Integer roomNumber = reservation.getRoomNumber();
-        if (roomNumber != null) {
-            List<Reservation> sameRoomReservations = reservationRepository.findByRoomNumber(roomNumber);
-            boolean conflict = sameRoomReservations.stream()
-                    .filter(existing -> excludeId == null || !excludeId.equals(existing.getId()))
-                    .anyMatch(existing -> start.isBefore(existing.getEndTime()) && end.isAfter(existing.getStartTime()));
-
-            if (conflict) {
-                throw new IllegalStateException("Der ausgewählte Raum und Zeitslot kollidiert mit einer bestehenden Reservierung");
-            }
-        }
-
         if (reservation.getAccessType() == ReservationAccess.PRIVATE) {
             String accessCode = reservation.getAccessCode();
             if (accessCode == null || accessCode.isBlank()) {
@@ -109,7 +343,7 @@ public class ReservationService {
             if (rawName.isEmpty()) {
                 throw new IllegalArgumentException("Teilnehmernamen dürfen nur Buchstaben und Leerzeichen enthalten");
             }
-            if (!PARTICIPANT_NAME_PATTERN.matcher(rawName).matches()) {
+            if (!isValidParticipantName(rawName)) {
                 throw new IllegalArgumentException("Teilnehmernamen dürfen nur Buchstaben und Leerzeichen enthalten");
             }
             participant.setName(rawName);
@@ -117,24 +351,83 @@ public class ReservationService {
         }
     }
 
+    static boolean isValidParticipantName(String name) {
+        return PARTICIPANT_NAME_PATTERN.matcher(name).matches();
+    }
+
+    private boolean existsOverlappingReservation(Integer roomNumber, LocalDateTime start, LocalDateTime end, Long excludeId) {
+        if (excludeId == null) {
+            return reservationRepository.existsByRoomNumberAndStartTimeLessThanAndEndTimeGreaterThan(roomNumber, end, start);
+        }
+        return reservationRepository.existsByRoomNumberAndStartTimeLessThanAndEndTimeGreaterThanAndIdNot(roomNumber, end, start, excludeId);
+    }
+
+    @Transactional(readOnly = true)
+    @Cacheable(cacheNames = CACHE_BY_PUBLIC_KEY, unless = "#result == null")
     public Optional<Reservation> findByPublicKey(String publicKey) {
         return reservationRepository.findByPublicKey(publicKey);
     }
 
+    @Transactional(readOnly = true)
+    @Cacheable(cacheNames = CACHE_BY_PRIVATE_KEY, unless = "#result == null")
     public Optional<Reservation> findByPrivateKey(String privateKey) {
         return reservationRepository.findByPrivateKey(privateKey);
     }
 
-    @Transactional
+    /**
+     * Resolves a public or private key to its reservation with a single id lookup on the matching
+     * key column. Keys issued before the type marker existed are still resolved by trying both columns.
+     */
+    @Transactional(readOnly = true)
+    @Cacheable(cacheNames = CACHE_ACCESS_KEYS, unless = "#result == null")
+    public Optional<AccessKeyMatch> resolveAccessKey(String key) {
+        if (!accessKeyFilter.mightContain(key)) {
+            reservationMetrics.invalidAccessKey("filter");
+            return Optional.empty();
+        }
+
+        Optional<AccessKeyMatch> match;
+        if (AccessKeyType.isTyped(key)) {
+            match = AccessKeyType.of(key).flatMap(type -> findReservationId(key, type)
+                    .map(id -> new AccessKeyMatch(id, type)));
+        } else {
+            match = findReservationId(key, AccessKeyType.PUBLIC)
+                    .map(id -> new AccessKeyMatch(id, AccessKeyType.PUBLIC))
+                    .or(() -> findReservationId(key, AccessKeyType.PRIVATE)
+                            .map(id -> new AccessKeyMatch(id, AccessKeyType.PRIVATE)));
+        }
+        if (match.isEmpty()) {
+            reservationMetrics.invalidAccessKey("database");
+        }
+        return match;
+    }
+
+    private Optional<Long> findReservationId(String key, AccessKeyType type) {
+        return type == AccessKeyType.PUBLIC
+                ? reservationRepository.findIdByPublicKey(key)
+                : reservationRepository.findIdByPrivateKey(key);
+    }
+
     public Reservation updateReservation(Long id, String privateKey, Reservation updatedData) {
-        Reservation existing = reservationRepository.findById(id)
+        // Nur der Zielraum muss gesperrt werden, der bisherige Raum wird höchstens frei
+        return roomLocks.callLocked(Collections.singletonList(updatedData.getRoomNumber()),
+                () -> transactionTemplate.execute(status -> update(id, privateKey, updatedData)));
+    }
+
+    private Reservation update(Long id, String privateKey, Reservation updatedData) {
+        Reservation existing = reservationRepository.findWithParticipantsById(id)
                 .orElseThrow(() -> new IllegalArgumentException("Reservierung nicht gefunden"));
 
         // Autorisierung
         if (!privateKey.equals(existing.getPrivateKey())) {
+            reservationMetrics.invalidAccessKey("private-key");
             throw new IllegalArgumentException("Ungültiger privater Schlüssel");
         }
 
+        boolean slotChanged = !Objects.equals(updatedData.getRoomNumber(), existing.getRoomNumber())
+                || !Objects.equals(updatedData.getStartTime(), existing.getStartTime())
+                || !Objects.equals(updatedData.getEndTime(), existing.getEndTime());
+
         // Daten aktualisieren
         existing.setTitle(updatedData.getTitle());
         existing.setLocation(updatedData.getLocation());
@@ -151,18 +444,50 @@ public class ReservationService {
 
         // Erneut validieren (exclude current reservation from conflict check)
         validateReservation(existing, id);
-        return reservationRepository.save(existing);
+        Reservation saved = reservationRepository.save(existing);
+        if (slotChanged) {
+            roomSlotRepository.deleteByReservationId(id);
+            claimRoomSlots(RoomSlot.claimsFor(saved));
+        }
+        evictCachedLookups(saved);
+        return saved;
     }
 
     @Transactional
     public void deleteReservation(Long id, String privateKey) {
-        Reservation reservation = reservationRepository.findById(id)
+        Reservation reservation = reservationRepository.findWithParticipantsById(id)
                 .orElseThrow(() -> new IllegalArgumentException("Reservierung nicht gefunden"));
 
         if (!privateKey.equals(reservation.getPrivateKey())) {
+            reservationMetrics.invalidAccessKey("private-key");
             throw new IllegalArgumentException("Ungültiger privater Schlüssel");
         }
 
         reservationRepository.delete(reservation);
+        evictCachedLookups(reservation);
+    }
+
+    // Neue Reservierungen müssen nichts verdrängen, weil nicht gefundene Lookups nie gecacht werden.
+    // Erst nach dem Commit verdrängen, sonst kann ein paralleler Lookup den alten Stand wieder einlagern.
+    // Aus demselben Grund wird auch die Version erst dann erhöht.
+    private void evictCachedLookups(Reservation reservation) {
+        Long id = reservation.getId();
+        String publicKey = reservation.getPublicKey();
+        String privateKey = reservation.getPrivateKey();
+        AfterCommit.run(() -> {
+            evict(CACHE_BY_ID, id);
+            evict(CACHE_BY_PUBLIC_KEY, publicKey);
+            evict(CACHE_BY_PRIVATE_KEY, privateKey);
+            evict(CACHE_ACCESS_KEYS, publicKey);
+            evict(CACHE_ACCESS_KEYS, privateKey);
+            reservationVersions.changed(id);
+        });
+    }
+
+    private void evict(String cacheName, Object key) {
+        Cache cache = cacheManager.getCache(cacheName);
+        if (cache != null && key != null) {
+            cache.evict(key);
+        }
     }
 }
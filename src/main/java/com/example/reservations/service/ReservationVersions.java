@@ -0,0 +1,78 @@
+package com.example.reservations.service;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+/**
+ * Change versions for HTTP conditional requests: one for the whole listing and one per
+ * reservation, bumped by the service after a change has committed. Versions only live in this
+ * instance; the ETags carry the startup time, so they never match an ETag of an earlier run or
+ * of another instance. Changes made on another instance are not counted here, so every validator
+ * also changes once per {@code reservations.versions.max-age}; like the entries of the lookup
+ * caches, a page is at most that old.
+ */
+@Component
+public class ReservationVersions {
+
+    public record Version(long value, Instant modified) {
+    }
+
+    private final String instance = Long.toString(System.currentTimeMillis(), 36);
+    private final Version initial = new Version(0, Instant.now());
+    private final AtomicLong counter = new AtomicLong();
+    // Gelöschte Reservierungen bleiben drin, sonst bekämen sie wieder die Anfangsversion
+    private final Map<Long, Version> reservations = new ConcurrentHashMap<>();
+    private volatile Version global = initial;
+    private final long maxAgeMillis;
+
+    public ReservationVersions(@Value("${reservations.versions.max-age:10m}") Duration maxAge) {
+        this.maxAgeMillis = maxAge.toMillis();
+    }
+
+    public void changed(Long id) {
+        changed(List.of(id));
+    }
+
+    public void changed(Collection<Long> ids) {
+        Version version = new Version(counter.incrementAndGet(), Instant.now());
+        ids.forEach(id -> reservations.put(id, version));
+        global = version;
+    }
+
+    public Version global() {
+        return global;
+    }
+
+    public Version of(Long id) {
+        return reservations.getOrDefault(id, initial);
+    }
+
+    /**
+     * Strong ETag for a response that depends on {@code version} and the given extra parts.
+     */
+    public String eTag(Version version, Object... parts) {
+        StringBuilder eTag = new StringBuilder("\"").append(instance).append('-').append(version.value())
+                .append('-').append(System.currentTimeMillis() / maxAgeMillis);
+        for (Object part : parts) {
+            eTag.append('-').append(part);
+        }
+        return eTag.append('"').toString();
+    }
+
+    /**
+     * Last-Modified matching {@link #eTag}: the change time, but not earlier than the start of the
+     * current max-age period.
+     */
+    public Instant lastModified(Version version) {
+        long now = System.currentTimeMillis();
+        Instant periodStart = Instant.ofEpochMilli(now - now % maxAgeMillis);
+        return version.modified().isAfter(periodStart) ? version.modified() : periodStart;
+    }
+}
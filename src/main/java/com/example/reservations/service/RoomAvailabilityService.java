@@ -0,0 +1,193 @@
+package com.example.reservations.service;
+
+import com.example.reservations.model.RoomOccupancy;
+import com.example.reservations.model.RoomSlot;
+import com.example.reservations.repository.ReservationRepository;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Answers availability questions from a single range query over all rooms instead of probing
+ * one slot at a time. Slots are aligned to the room slot granularity, so a slot reported as free
+ * can also be claimed.
+ */
+@Service
+public class RoomAvailabilityService {
+
+    public static final int MAX_FREE_SLOTS = 100;
+    public static final Duration MAX_WINDOW = Duration.ofDays(31);
+    public static final int MAX_CANDIDATES = 1000;
+
+    private static final Comparator<FreeSlot> BY_START_AND_ROOM = Comparator
+            .comparing(FreeSlot::startTime)
+            .thenComparing(FreeSlot::roomNumber);
+
+    private final ReservationRepository reservationRepository;
+    private final List<Integer> rooms;
+
+    public RoomAvailabilityService(ReservationRepository reservationRepository,
+                                   @Value("${reservations.rooms:101,102,103,104,105}") List<Integer> rooms) {
+        this.reservationRepository = reservationRepository;
+        this.rooms = List.copyOf(rooms);
+    }
+
+    public List<Integer> getRooms() {
+        return rooms;
+    }
+
+    /**
+     * Returns the earliest {@code limit} free slots of the given length between {@code from} and
+     * {@code to}, across the given rooms or all configured rooms. Within one gap of a room the
+     * slots follow each other back to back.
+     */
+    @Transactional(readOnly = true)
+    public List<FreeSlot> findFreeSlots(Duration duration, LocalDateTime from, LocalDateTime to,
+                                        Collection<Integer> roomNumbers, int limit) {
+        if (duration == null || duration.isNegative() || duration.isZero()) {
+            throw new IllegalArgumentException("Die Dauer muss positiv sein");
+        }
+        if (limit < 1 || limit > MAX_FREE_SLOTS) {
+            throw new IllegalArgumentException("Es können 1 bis " + MAX_FREE_SLOTS + " freie Zeitslots abgefragt werden");
+        }
+        List<Integer> searchedRooms = resolveRooms(roomNumbers);
+
+        validateWindow(from, to);
+
+        // Nur zukünftige Slots, Beginn auf die Slot-Grenze aufrunden
+        LocalDateTime now = LocalDateTime.now();
+        LocalDateTime windowStart = RoomSlot.ceil(from.isAfter(now) ? from : now);
+        if (!windowStart.isBefore(to)) {
+            return List.of();
+        }
+
+        Map<Integer, List<RoomOccupancy>> occupancies = loadOccupancies(windowStart, RoomSlot.ceil(to));
+        Duration step = Duration.ofMinutes(ceilMinutes(duration));
+
+        List<FreeSlot> freeSlots = new ArrayList<>();
+        for (Integer roomNumber : searchedRooms) {
+            collectFreeSlots(roomNumber, occupancies.getOrDefault(roomNumber, List.of()),
+                    windowStart, to, duration, step, limit, freeSlots);
+        }
+        freeSlots.sort(BY_START_AND_ROOM);
+        return freeSlots.size() > limit ? List.copyOf(freeSlots.subList(0, limit)) : freeSlots;
+    }
+
+    /**
+     * Checks many candidate slots at once and returns whether each one could be booked, in the
+     * order of the candidates. Candidates that are invalid, in the past or in an unknown room are
+     * reported as unavailable. All rooms are loaded with one range query covering every candidate.
+     */
+    @Transactional(readOnly = true)
+    public boolean[] checkAvailability(List<SlotCandidate> candidates) {
+        if (candidates.size() > MAX_CANDIDATES) {
+            throw new IllegalArgumentException("Es können höchstens " + MAX_CANDIDATES + " Zeitslots auf einmal geprüft werden");
+        }
+
+        boolean[] available = new boolean[candidates.size()];
+        LocalDateTime now = LocalDateTime.now();
+        LocalDateTime rangeStart = null;
+        LocalDateTime rangeEnd = null;
+        for (int i = 0; i < candidates.size(); i++) {
+            SlotCandidate candidate = candidates.get(i);
+            available[i] = isBookable(candidate, now);
+            if (available[i]) {
+                rangeStart = rangeStart == null || candidate.startTime().isBefore(rangeStart) ? candidate.startTime() : rangeStart;
+                rangeEnd = rangeEnd == null || candidate.endTime().isAfter(rangeEnd) ? candidate.endTime() : rangeEnd;
+            }
+        }
+        if (rangeStart == null) {
+            return available;
+        }
+        if (Duration.between(rangeStart, rangeEnd).compareTo(MAX_WINDOW) > 0) {
+            throw new IllegalArgumentException("Die Zeitslots dürfen sich über höchstens " + MAX_WINDOW.toDays() + " Tage verteilen");
+        }
+
+        // Belegungen auf ganze Slots erweitert, wie sie auch in room_slots beansprucht werden
+        RoomScheduleIndex occupied = new RoomScheduleIndex();
+        reservationRepository.findOccupanciesOverlapping(RoomSlot.floor(rangeStart), RoomSlot.ceil(rangeEnd))
+                .forEach(occupancy -> occupied.put(new RoomOccupancy(occupancy.id(), occupancy.roomNumber(),
+                        RoomSlot.floor(occupancy.startTime()), RoomSlot.ceil(occupancy.endTime()))));
+
+        for (int i = 0; i < available.length; i++) {
+            SlotCandidate candidate = candidates.get(i);
+            available[i] = available[i] && !occupied.hasConflict(candidate.roomNumber(),
+                    RoomSlot.floor(candidate.startTime()), RoomSlot.ceil(candidate.endTime()), null);
+        }
+        return available;
+    }
+
+    private boolean isBookable(SlotCandidate candidate, LocalDateTime now) {
+        return candidate != null
+                && candidate.roomNumber() != null && rooms.contains(candidate.roomNumber())
+                && candidate.startTime() != null && candidate.endTime() != null
+                && candidate.endTime().isAfter(candidate.startTime())
+                && candidate.startTime().isAfter(now);
+    }
+
+    // Sweep über die nach Beginn sortierten Belegungen: jede Belegung sperrt ihre ganzen Slots
+    private void collectFreeSlots(Integer roomNumber, List<RoomOccupancy> occupied, LocalDateTime windowStart,
+                                  LocalDateTime windowEnd, Duration duration, Duration step, int limit,
+                                  List<FreeSlot> freeSlots) {
+        LocalDateTime candidate = windowStart;
+        int found = 0;
+        int next = 0;
+        while (found < limit && !candidate.plus(duration).isAfter(windowEnd)) {
+            LocalDateTime candidateEnd = candidate.plus(duration);
+            if (next < occupied.size() && RoomSlot.floor(occupied.get(next).startTime()).isBefore(RoomSlot.ceil(candidateEnd))) {
+                LocalDateTime blockedUntil = RoomSlot.ceil(occupied.get(next).endTime());
+                if (blockedUntil.isAfter(candidate)) {
+                    candidate = blockedUntil;
+                }
+                next++;
+                continue;
+            }
+            freeSlots.add(new FreeSlot(roomNumber, candidate, candidateEnd));
+            found++;
+            candidate = candidate.plus(step);
+        }
+    }
+
+    private Map<Integer, List<RoomOccupancy>> loadOccupancies(LocalDateTime from, LocalDateTime to) {
+        // Eine Abfrage für alle Räume, bereits nach Raum und Beginn sortiert
+        return reservationRepository.findOccupanciesOverlapping(from, to).stream()
+                .collect(Collectors.groupingBy(RoomOccupancy::roomNumber));
+    }
+
+    private List<Integer> resolveRooms(Collection<Integer> roomNumbers) {
+        if (roomNumbers == null || roomNumbers.isEmpty()) {
+            return rooms;
+        }
+        for (Integer roomNumber : roomNumbers) {
+            if (!rooms.contains(roomNumber)) {
+                throw new IllegalArgumentException("Unbekannte Raumnummer: " + roomNumber);
+            }
+        }
+        return roomNumbers.stream().distinct().toList();
+    }
+
+    private static void validateWindow(LocalDateTime from, LocalDateTime to) {
+        if (from == null || to == null) {
+            throw new IllegalArgumentException("Beginn und Ende des Zeitraums sind erforderlich");
+        }
+        if (!to.isAfter(from)) {
+            throw new IllegalArgumentException("Das Ende des Zeitraums muss nach dem Beginn liegen");
+        }
+        if (Duration.between(from, to).compareTo(MAX_WINDOW) > 0) {
+            throw new IllegalArgumentException("Der Zeitraum darf höchstens " + MAX_WINDOW.toDays() + " Tage umfassen");
+        }
+    }
+
+    private static long ceilMinutes(Duration duration) {
+        long minutes = (duration.toSeconds() + 59) / 60;
+        return (minutes + RoomSlot.SLOT_MINUTES - 1) / RoomSlot.SLOT_MINUTES * RoomSlot.SLOT_MINUTES;
+    }
+}
@@ -0,0 +1,103 @@
+package com.example.reservations.service;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Supplier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Striped locks keyed by room number. A lock is held until the transaction that checks for
+ * conflicts has completed, so the conflict check and the commit of the new reservation happen
+ * atomically for one room while other rooms proceed in parallel.
+ */
+@Component
+public class RoomLocks {
+
+    private final ReentrantLock[] stripes;
+    private final Counter uncontended;
+    private final Counter contended;
+    private final Timer waitTime;
+
+    public RoomLocks(@Value("${reservations.room-locks.stripes:16}") int stripeCount, MeterRegistry meterRegistry) {
+        this.stripes = new ReentrantLock[stripeCount];
+        for (int i = 0; i < stripeCount; i++) {
+            stripes[i] = new ReentrantLock();
+        }
+        this.uncontended = Counter.builder("reservations.room.lock.acquisitions")
+                .description("Room lock acquisitions, by whether the caller had to wait")
+                .tag("contended", "false")
+                .register(meterRegistry);
+        this.contended = Counter.builder("reservations.room.lock.acquisitions")
+                .description("Room lock acquisitions, by whether the caller had to wait")
+                .tag("contended", "true")
+                .register(meterRegistry);
+        this.waitTime = Timer.builder("reservations.room.lock.wait")
+                .description("Time spent waiting for a contended room lock")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Runs {@code action}, which starts its own transaction, while holding the stripes of the given
+     * rooms. The locks are taken before the transaction begins, so callers waiting for a busy room do
+     * not hold a pooled connection. Inside an already running transaction the locks are held until
+     * that one completes instead. Stripes are always taken in ascending order, so two callers
+     * locking overlapping sets cannot deadlock.
+     */
+    public <T> T callLocked(Collection<Integer> roomNumbers, Supplier<T> action) {
+        List<Integer> stripeIndexes = roomNumbers.stream()
+                .filter(Objects::nonNull)
+                .map(roomNumber -> Math.floorMod(roomNumber, stripes.length))
+                .distinct()
+                .sorted()
+                .toList();
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            stripeIndexes.forEach(this::lockStripeUntilCompletion);
+            return action.get();
+        }
+
+        List<ReentrantLock> locks = new ArrayList<>();
+        try {
+            for (int stripe : stripeIndexes) {
+                acquire(stripes[stripe]);
+                locks.add(stripes[stripe]);
+            }
+            return action.get();
+        } finally {
+            for (int i = locks.size() - 1; i >= 0; i--) {
+                locks.get(i).unlock();
+            }
+        }
+    }
+
+    private void lockStripeUntilCompletion(int stripe) {
+        ReentrantLock lock = stripes[stripe];
+        acquire(lock);
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                lock.unlock();
+            }
+        });
+    }
+
+    private void acquire(ReentrantLock lock) {
+        if (lock.tryLock()) {
+            uncontended.increment();
+            return;
+        }
+        contended.increment();
+        long start = System.nanoTime();
+        lock.lock();
+        waitTime.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+    }
+}
@@ -0,0 +1,132 @@
+package com.example.reservations.service;
+
+import com.example.reservations.model.RoomOccupancy;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.NavigableSet;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ConcurrentNavigableMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.ConcurrentSkipListSet;
+import org.springframework.stereotype.Component;
+
+/**
+ * In-memory index of the occupied time ranges per room, sorted by start time. An overlap query walks
+ * backwards from the last entry starting before the requested end; entries starting more than the
+ * longest reservation of the room before the requested start cannot reach into it, so the walk stops
+ * there. The longest duration counts only the current entries, so it drops again once a long
+ * reservation is removed or has ended. This does not rely on the entries being free of overlaps,
+ * which data from before the slot table (V5) does not guarantee.
+ */
+@Component
+public class RoomScheduleIndex {
+
+    private static final Comparator<RoomOccupancy> BY_START_AND_ID = Comparator
+            .comparing(RoomOccupancy::startTime)
+            .thenComparing(RoomOccupancy::id);
+
+    private final ConcurrentMap<Integer, NavigableSet<RoomOccupancy>> rooms = new ConcurrentHashMap<>();
+    private final ConcurrentMap<Long, RoomOccupancy> entries = new ConcurrentHashMap<>();
+    // Anzahl Einträge je Dauer pro Raum, damit die längste Dauer nach dem Entfernen wieder sinkt
+    private final ConcurrentMap<Integer, ConcurrentNavigableMap<Duration, Integer>> durations = new ConcurrentHashMap<>();
+
+    public void rebuild(Collection<RoomOccupancy> occupancies) {
+        rooms.clear();
+        entries.clear();
+        durations.clear();
+        occupancies.forEach(this::put);
+    }
+
+    public boolean hasConflict(Integer roomNumber, LocalDateTime start, LocalDateTime end, Long excludeId) {
+        NavigableSet<RoomOccupancy> room = rooms.get(roomNumber);
+        if (room == null) {
+            return false;
+        }
+
+        // Alle Einträge, die vor dem gewünschten Ende beginnen, rückwärts durchlaufen
+        RoomOccupancy probe = new RoomOccupancy(Long.MIN_VALUE, roomNumber, end, end);
+        LocalDateTime earliestReachingStart = start.minus(longestDuration(roomNumber));
+        Iterator<RoomOccupancy> candidates = room.headSet(probe, false).descendingIterator();
+        while (candidates.hasNext()) {
+            RoomOccupancy candidate = candidates.next();
+            if (!candidate.startTime().isAfter(earliestReachingStart)) {
+                return false;
+            }
+            if (candidate.endTime().isAfter(start) && (excludeId == null || !excludeId.equals(candidate.id()))) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Adds or replaces the entry for the given reservation and returns the previous one, if any.
+     */
+    public RoomOccupancy put(RoomOccupancy occupancy) {
+        RoomOccupancy previous = entries.put(occupancy.id(), occupancy);
+        if (previous != null) {
+            removeFromRoom(previous);
+        }
+        durations.computeIfAbsent(occupancy.roomNumber(), room -> new ConcurrentSkipListMap<>())
+                .merge(durationOf(occupancy), 1, Integer::sum);
+        rooms.computeIfAbsent(occupancy.roomNumber(), room -> new ConcurrentSkipListSet<>(BY_START_AND_ID))
+                .add(occupancy);
+        return previous;
+    }
+
+    public RoomOccupancy remove(Long id) {
+        RoomOccupancy previous = entries.remove(id);
+        if (previous != null) {
+            removeFromRoom(previous);
+        }
+        return previous;
+    }
+
+    /**
+     * Drops the entries that ended at or before the given time and returns how many were dropped.
+     * Those can no longer conflict with a new reservation.
+     */
+    public int removeEndedBefore(LocalDateTime time) {
+        int removed = 0;
+        for (NavigableSet<RoomOccupancy> room : rooms.values()) {
+            // Nur Einträge, die schon begonnen haben, können vorbei sein
+            for (RoomOccupancy occupancy : room.headSet(new RoomOccupancy(Long.MIN_VALUE, null, time, time), false)) {
+                if (!occupancy.endTime().isAfter(time) && entries.remove(occupancy.id(), occupancy)) {
+                    removeFromRoom(occupancy);
+                    removed++;
+                }
+            }
+        }
+        return removed;
+    }
+
+    public int size() {
+        return entries.size();
+    }
+
+    private void removeFromRoom(RoomOccupancy occupancy) {
+        NavigableSet<RoomOccupancy> room = rooms.get(occupancy.roomNumber());
+        if (room != null) {
+            room.remove(occupancy);
+        }
+        ConcurrentNavigableMap<Duration, Integer> roomDurations = durations.get(occupancy.roomNumber());
+        if (roomDurations != null) {
+            roomDurations.computeIfPresent(durationOf(occupancy), (duration, count) -> count > 1 ? count - 1 : null);
+        }
+    }
+
+    Duration longestDuration(Integer roomNumber) {
+        ConcurrentNavigableMap<Duration, Integer> roomDurations = durations.get(roomNumber);
+        Map.Entry<Duration, Integer> longest = roomDurations == null ? null : roomDurations.lastEntry();
+        return longest == null ? Duration.ZERO : longest.getKey();
+    }
+
+    private static Duration durationOf(RoomOccupancy occupancy) {
+        return Duration.between(occupancy.startTime(), occupancy.endTime());
+    }
+}
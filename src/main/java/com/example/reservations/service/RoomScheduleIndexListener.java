@@ -0,0 +1,77 @@
+package com.example.reservations.service;
+
+import com.example.reservations.model.Reservation;
+import com.example.reservations.model.RoomOccupancy;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Optional;
+import org.springframework.core.Ordered;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Keeps the {@link RoomScheduleIndex} in sync with every persisted change to a reservation,
+ * no matter whether it goes through the service or the repository. Changes become visible
+ * immediately and are undone if the surrounding transaction rolls back. Registered in
+ * {@code META-INF/orm.xml}.
+ */
+public class RoomScheduleIndexListener {
+
+    private final RoomScheduleIndex roomScheduleIndex;
+
+    public RoomScheduleIndexListener(RoomScheduleIndex roomScheduleIndex) {
+        this.roomScheduleIndex = roomScheduleIndex;
+    }
+
+    void onSaved(Reservation reservation) {
+        if (reservation.getRoomNumber() == null || reservation.getStartTime() == null || reservation.getEndTime() == null) {
+            return;
+        }
+        RoomOccupancy previous = roomScheduleIndex.put(RoomOccupancy.of(reservation));
+        rememberForRollback(reservation.getId(), previous);
+    }
+
+    void onRemoved(Reservation reservation) {
+        RoomOccupancy previous = roomScheduleIndex.remove(reservation.getId());
+        rememberForRollback(reservation.getId(), previous);
+    }
+
+    private void rememberForRollback(Long id, RoomOccupancy previous) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            return;
+        }
+        // Pro Transaktion nur den Zustand vor der ersten Änderung merken
+        undoLog().putIfAbsent(id, Optional.ofNullable(previous));
+    }
+
+    @SuppressWarnings("unchecked")
+    private Map<Long, Optional<RoomOccupancy>> undoLog() {
+        Map<Long, Optional<RoomOccupancy>> undoLog =
+                (Map<Long, Optional<RoomOccupancy>>) TransactionSynchronizationManager.getResource(this);
+        if (undoLog != null) {
+            return undoLog;
+        }
+
+        Map<Long, Optional<RoomOccupancy>> newUndoLog = new HashMap<>();
+        TransactionSynchronizationManager.bindResource(this, newUndoLog);
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            // Vor dem Freigeben der Raumsperren zurücksetzen
+            @Override
+            public int getOrder() {
+                return Ordered.HIGHEST_PRECEDENCE;
+            }
+
+            @Override
+            public void afterCompletion(int status) {
+                TransactionSynchronizationManager.unbindResourceIfPossible(RoomScheduleIndexListener.this);
+                if (status == STATUS_COMMITTED) {
+                    return;
+                }
+                newUndoLog.forEach((id, original) -> original.ifPresentOrElse(
+                        roomScheduleIndex::put,
+                        () -> roomScheduleIndex.remove(id)));
+            }
+        });
+        return newUndoLog;
+    }
+}
@@ -0,0 +1,13 @@
+package com.example.reservations.service;
+
+/**
+ * A room slot was already claimed when the claims were flushed, typically by another instance
+ * between the conflict check and the insert. Callers that treat conflicts like other rule
+ * violations can keep catching {@link IllegalStateException}.
+ */
+public class RoomSlotConflictException extends IllegalStateException {
+
+    public RoomSlotConflictException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
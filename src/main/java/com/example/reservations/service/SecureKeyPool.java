@@ -0,0 +1,149 @@
+package com.example.reservations.service;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import java.security.NoSuchAlgorithmException;
+import java.security.SecureRandom;
+import java.util.Base64;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+/**
+ * Buffer of pre-generated random key parts. Background threads with their own {@link SecureRandom}
+ * keep the buffer filled, so creating a reservation only polls a queue instead of contending for a
+ * shared generator. If the buffer runs dry the key is generated on the calling thread with one of
+ * several generators picked at random.
+ */
+@Component
+public class SecureKeyPool {
+
+    private static final int KEY_BYTES = 12;
+    // Mehrere Generatoren, damit sich auch bei leerem Pool nicht alle Threads um einen streiten
+    private static final SecureRandom[] fallbackRandoms = new SecureRandom[Runtime.getRuntime().availableProcessors()];
+    private static final ThreadLocal<SecureRandom> refillRandom = ThreadLocal.withInitial(SecureKeyPool::newGenerator);
+
+    static {
+        for (int i = 0; i < fallbackRandoms.length; i++) {
+            fallbackRandoms[i] = newGenerator();
+        }
+    }
+
+    private final Queue<String> keys = new ConcurrentLinkedQueue<>();
+    // ConcurrentLinkedQueue.size() zählt alle Elemente, deshalb separat mitführen
+    private final AtomicInteger size = new AtomicInteger();
+    private final AtomicInteger runningRefills = new AtomicInteger();
+    private final int capacity;
+    private final int lowWaterMark;
+    private final int refillThreads;
+    private final ExecutorService refillExecutor;
+    private final Counter pooled;
+    private final Counter fallbacks;
+
+    public SecureKeyPool(@Value("${reservations.key-pool.capacity:2048}") int capacity,
+                         @Value("${reservations.key-pool.refill-threads:1}") int refillThreads,
+                         MeterRegistry meterRegistry) {
+        this.capacity = capacity;
+        this.lowWaterMark = capacity / 2;
+        this.refillThreads = refillThreads;
+        AtomicInteger threadNumber = new AtomicInteger();
+        this.refillExecutor = Executors.newFixedThreadPool(refillThreads, runnable -> {
+            Thread thread = new Thread(runnable, "key-pool-refill-" + threadNumber.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+
+        Gauge.builder("reservations.key_pool.size", size, AtomicInteger::get)
+                .description("Pre-generated keys waiting in the pool")
+                .register(meterRegistry);
+        this.pooled = Counter.builder("reservations.key_pool.keys")
+                .description("Issued keys, by whether they came from the pool or were generated on demand")
+                .tag("source", "pool")
+                .register(meterRegistry);
+        this.fallbacks = Counter.builder("reservations.key_pool.keys")
+                .description("Issued keys, by whether they came from the pool or were generated on demand")
+                .tag("source", "fallback")
+                .register(meterRegistry);
+
+        requestRefill();
+    }
+
+    /**
+     * Returns a URL-safe random key part (16 characters, 96 bits).
+     */
+    public String nextKey() {
+        String key = keys.poll();
+        if (key == null) {
+            fallbacks.increment();
+            key = generateKey(fallbackRandoms[ThreadLocalRandom.current().nextInt(fallbackRandoms.length)]);
+        } else {
+            pooled.increment();
+            size.decrementAndGet();
+        }
+        if (size.get() < lowWaterMark) {
+            requestRefill();
+        }
+        return key;
+    }
+
+    int size() {
+        return size.get();
+    }
+
+    private void requestRefill() {
+        int running = runningRefills.get();
+        if (running >= refillThreads || !runningRefills.compareAndSet(running, running + 1)) {
+            return;
+        }
+        try {
+            refillExecutor.execute(this::refill);
+        } catch (RejectedExecutionException ex) {
+            // Pool wird heruntergefahren
+            runningRefills.decrementAndGet();
+        }
+    }
+
+    private void refill() {
+        SecureRandom random = refillRandom.get();
+        try {
+            while (size.get() < capacity && !Thread.currentThread().isInterrupted()) {
+                keys.offer(generateKey(random));
+                size.incrementAndGet();
+            }
+        } finally {
+            runningRefills.decrementAndGet();
+        }
+    }
+
+    /**
+     * Instances of the default NativePRNG share one synchronized state, DRBG instances are
+     * independent of each other.
+     */
+    private static SecureRandom newGenerator() {
+        try {
+            return SecureRandom.getInstance("DRBG");
+        } catch (NoSuchAlgorithmException ex) {
+            return new SecureRandom();
+        }
+    }
+
+    // Paketweit sichtbar, damit die Benchmarks (src/jmh/java) sie direkt messen können
+    static String generateKey(SecureRandom random) {
+        byte[] randomBytes = new byte[KEY_BYTES];
+        random.nextBytes(randomBytes);
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(randomBytes);
+    }
+
+    @PreDestroy
+    void shutdown() {
+        refillExecutor.shutdownNow();
+    }
+}
@@ -0,0 +1,26 @@
+package com.example.reservations.web;
+
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.MapperFeature;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.dataformat.csv.CsvMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+
+/**
+ * CSV mapper shared by import and export. Deliberately not a bean: a second ObjectMapper bean
+ * would replace the one Spring Boot configures for JSON.
+ */
+final class CsvMappers {
+
+    private CsvMappers() {
+    }
+
+    static CsvMapper create() {
+        return CsvMapper.builder()
+                .addModule(new JavaTimeModule())
+                .enable(MapperFeature.ACCEPT_CASE_INSENSITIVE_ENUMS)
+                .enable(DeserializationFeature.ACCEPT_EMPTY_STRING_AS_NULL_OBJECT)
+                .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+                .build();
+    }
+}
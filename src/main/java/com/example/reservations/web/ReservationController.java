@@ -1,12 +1,23 @@
 package com.example.reservations.web;
 
+import com.example.reservations.model.AccessKeyType;
 import com.example.reservations.model.Reservation;
 import com.example.reservations.model.ReservationAccess;
+import com.example.reservations.service.AccessKeyMatch;
+import com.example.reservations.service.ReservationCursor;
+import com.example.reservations.service.ReservationMetrics;
+import com.example.reservations.service.ReservationPage;
 import com.example.reservations.service.ReservationService;
+import com.example.reservations.service.ReservationVersions;
 import com.example.reservations.web.dto.ReservationForm;
+import jakarta.servlet.http.HttpServletResponse;
 import jakarta.validation.Valid;
-import java.util.List;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
 import java.util.Optional;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
 import org.springframework.stereotype.Controller;
 import org.springframework.ui.Model;
 import org.springframework.validation.BindingResult;
@@ -15,15 +26,25 @@ import org.springframework.web.bind.annotation.ModelAttribute;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.context.request.ServletWebRequest;
 import org.springframework.web.servlet.mvc.support.RedirectAttributes;
+import org.springframework.web.servlet.support.RequestContextUtils;
 
 @Controller
 public class ReservationController {
 
     private final ReservationService reservationService;
+    private final ReservationMetrics reservationMetrics;
+    private final ReservationVersions reservationVersions;
+    private final int pageSize;
 
-    public ReservationController(ReservationService reservationService) {
+    public ReservationController(ReservationService reservationService, ReservationMetrics reservationMetrics,
+                                 ReservationVersions reservationVersions,
+                                 @Value("${reservations.page-size:20}") int pageSize) {
         this.reservationService = reservationService;
+        this.reservationMetrics = reservationMetrics;
+        this.reservationVersions = reservationVersions;
+        this.pageSize = pageSize;
     }
 
     @ModelAttribute("accessTypes")
@@ -32,34 +53,80 @@ public class ReservationController {
     }
 
     @GetMapping({"/", "/reservations"})
-    public String index(Model model) {
-        List<Reservation> reservations = reservationService.findAll();
-        model.addAttribute("reservations", reservations);
+    public String index(@RequestParam(value = "after", required = false) String after,
+                        @RequestParam(value = "before", required = false) String before,
+                        @RequestParam(value = "past", defaultValue = "false") boolean past,
+                        Model model, ServletWebRequest webRequest) {
+        // Meldungen nach einem Redirect müssen angezeigt werden
+        if (RequestContextUtils.getInputFlashMap(webRequest.getRequest()) == null && indexNotModified(webRequest, past)) {
+            return null;
+        }
+        addReservationPage(model, after, before, past);
         return "index";
     }
 
+    private boolean indexNotModified(ServletWebRequest webRequest, boolean past) {
+        ReservationVersions.Version version = reservationVersions.global();
+        if (past) {
+            return notModified(webRequest, reservationVersions.eTag(version), reservationVersions.lastModified(version));
+        }
+        // Abgelaufene Reservierungen fallen ohne Änderung aus der Liste, deshalb höchstens eine Minute gültig
+        Instant minute = Instant.now().truncatedTo(ChronoUnit.MINUTES);
+        Instant lastModified = reservationVersions.lastModified(version);
+        lastModified = lastModified.isAfter(minute) ? lastModified : minute;
+        return notModified(webRequest, reservationVersions.eTag(version, minute.getEpochSecond() / 60), lastModified);
+    }
+
+    private boolean reservationNotModified(ServletWebRequest webRequest, Long id) {
+        ReservationVersions.Version version = reservationVersions.of(id);
+        return notModified(webRequest, reservationVersions.eTag(version, "r" + id), reservationVersions.lastModified(version));
+    }
+
+    private static boolean notModified(ServletWebRequest webRequest, String eTag, Instant lastModified) {
+        // Browser sollen jedes Mal nachfragen, statt die Seite heuristisch aus dem Cache zu zeigen
+        HttpServletResponse response = webRequest.getResponse();
+        if (response != null) {
+            response.setHeader(HttpHeaders.CACHE_CONTROL, "no-cache");
+        }
+        return webRequest.checkNotModified(eTag, lastModified.toEpochMilli());
+    }
+
+    private void addReservationPage(Model model, String after, String before, boolean past) {
+        // Vor dem Lesen festhalten, siehe ReservationFragments
+        model.addAttribute("readVersion", reservationVersions.global());
+        LocalDateTime from = past ? null : LocalDateTime.now();
+        ReservationPage page;
+        try {
+            page = reservationService.findPage(from, ReservationCursor.parse(after), ReservationCursor.parse(before), pageSize);
+        } catch (IllegalArgumentException ex) {
+            model.addAttribute("error", ex.getMessage());
+            page = reservationService.findPage(from, null, null, pageSize);
+        }
+        model.addAttribute("reservations", page.reservations());
+        model.addAttribute("page", page);
+        model.addAttribute("past", past);
+    }
+
     @GetMapping("/access")
     public String accessByKey(@RequestParam(value = "key", required = false) String key, Model model) {
         if (key == null || key.isBlank()) {
             model.addAttribute("error", "Bitte geben Sie einen gültigen Zugriffsschlüssel ein");
-            model.addAttribute("reservations", reservationService.findAll());
+            addReservationPage(model, null, null, false);
             return "index";
         }
 
-        // Try public key first
-        Optional<Reservation> reservation = reservationService.findByPublicKey(key);
-        if (reservation.isPresent()) {
-            return "redirect:/reservations/" + reservation.get().getId() + "/public";
-        }
-
-        // Try private key - WICHTIG: key als Parameter weitergeben!
-        reservation = reservationService.findByPrivateKey(key);
-        if (reservation.isPresent()) {
-            return "redirect:/reservations/" + reservation.get().getId() + "/private?authorized=true&key=" + key;
+        Optional<AccessKeyMatch> match = reservationService.resolveAccessKey(key);
+        if (match.isPresent()) {
+            Long id = match.get().reservationId();
+            if (match.get().type() == AccessKeyType.PUBLIC) {
+                return "redirect:/reservations/" + id + "/public";
+            }
+            // WICHTIG: key als Parameter weitergeben!
+            return "redirect:/reservations/" + id + "/private?authorized=true&key=" + key;
         }
 
         model.addAttribute("error", "Ungültiger Zugriffsschlüssel");
-        model.addAttribute("reservations", reservationService.findAll());
+        addReservationPage(model, null, null, false);
         return "index";
     }
 
@@ -77,6 +144,7 @@ public class ReservationController {
             Model model) {
 
         if (bindingResult.hasErrors()) {
+            reservationMetrics.validationFailed("form");
             model.addAttribute("editMode", false);
             return "reservation-form";
         }
@@ -93,7 +161,10 @@ public class ReservationController {
     }
 
     @GetMapping("/reservations/{id}/confirm")
-    public String confirmation(@PathVariable Long id, Model model) {
+    public String confirmation(@PathVariable Long id, Model model, ServletWebRequest webRequest) {
+        if (reservationNotModified(webRequest, id)) {
+            return null;
+        }
         Reservation reservation = reservationService.findById(id)
                 .orElseThrow(() -> new IllegalArgumentException("Reservierung nicht gefunden"));
         model.addAttribute("reservation", reservation);
@@ -101,7 +172,11 @@ public class ReservationController {
     }
 
     @GetMapping("/reservations/{id}/public")
-    public String publicView(@PathVariable Long id, Model model) {
+    public String publicView(@PathVariable Long id, Model model, ServletWebRequest webRequest) {
+        if (reservationNotModified(webRequest, id)) {
+            return null;
+        }
+        model.addAttribute("readVersion", reservationVersions.global());
         Reservation reservation = reservationService.findById(id)
                 .orElseThrow(() -> new IllegalArgumentException("Reservierung nicht gefunden"));
         if (reservation.getAccessType() != ReservationAccess.PUBLIC) {
@@ -142,6 +217,7 @@ public class ReservationController {
                                      BindingResult bindingResult,
                                      Model model) {
         if (bindingResult.hasErrors()) {
+            reservationMetrics.validationFailed("form");
             model.addAttribute("reservationId", id);
             model.addAttribute("privateKey", key);
             model.addAttribute("editMode", true);
@@ -0,0 +1,91 @@
+package com.example.reservations.web;
+
+import com.example.reservations.service.ReservationExport;
+import com.example.reservations.service.ReservationService;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SequenceWriter;
+import com.fasterxml.jackson.dataformat.csv.CsvSchema;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.time.LocalDateTime;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.server.ResponseStatusException;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+/**
+ * Export of reservations as CSV or JSON lines, in the same columns the import reads. The body is
+ * written while the rows are read from the database, so the response size is not limited by memory.
+ */
+@RestController
+public class ReservationExportController {
+
+    private static final MediaType TEXT_CSV = MediaType.parseMediaType("text/csv;charset=UTF-8");
+    private static final MediaType APPLICATION_NDJSON = MediaType.parseMediaType("application/x-ndjson");
+
+    private static final CsvSchema CSV_SCHEMA = CsvSchema.builder()
+            .addColumn("id")
+            .addColumn("title")
+            .addColumn("location")
+            .addColumn("roomNumber")
+            .addColumn("description")
+            .addColumn("startTime")
+            .addColumn("endTime")
+            .addColumn("accessType")
+            .addColumn("participants")
+            .setUseHeader(true)
+            .build();
+
+    private final ReservationService reservationService;
+    private final ObjectWriter csvWriter;
+    private final ObjectWriter jsonWriter;
+
+    public ReservationExportController(ReservationService reservationService, ObjectMapper objectMapper) {
+        this.reservationService = reservationService;
+        this.csvWriter = CsvMappers.create().writerFor(ReservationExport.class).with(CSV_SCHEMA);
+        this.jsonWriter = objectMapper.writerFor(ReservationExport.class).withRootValueSeparator("\n");
+    }
+
+    @GetMapping("/api/reservations/export")
+    public ResponseEntity<StreamingResponseBody> export(
+            @RequestParam(value = "format", defaultValue = "csv") String format,
+            @RequestParam(value = "room", required = false) Integer roomNumber,
+            @RequestParam(value = "from", required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+            @RequestParam(value = "to", required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to) {
+        if (from != null && to != null && !to.isAfter(from)) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Das Ende des Zeitraums muss nach dem Beginn liegen");
+        }
+
+        boolean csv = switch (format) {
+            case "csv" -> true;
+            case "ndjson" -> false;
+            default -> throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Unbekanntes Exportformat: " + format);
+        };
+        ObjectWriter writer = csv ? csvWriter : jsonWriter;
+
+        // Läuft nach dem Controller in einem eigenen Thread, die Transaktion öffnet der Service
+        StreamingResponseBody body = outputStream -> {
+            try (SequenceWriter sequence = writer.writeValues(outputStream)) {
+                reservationService.exportReservations(roomNumber, from, to, reservation -> {
+                    try {
+                        sequence.write(reservation);
+                    } catch (IOException ex) {
+                        throw new UncheckedIOException(ex);
+                    }
+                });
+            }
+        };
+
+        return ResponseEntity.ok()
+                .contentType(csv ? TEXT_CSV : APPLICATION_NDJSON)
+                .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"reservations." + format + "\"")
+                .body(body);
+    }
+}
@@ -0,0 +1,73 @@
+package com.example.reservations.web;
+
+import com.example.reservations.model.Reservation;
+import com.example.reservations.model.ReservationSummary;
+import com.example.reservations.service.ReservationVersions;
+import java.util.Map;
+import java.util.Set;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.context.i18n.LocaleContextHolder;
+import org.springframework.stereotype.Component;
+import org.thymeleaf.ITemplateEngine;
+import org.thymeleaf.context.Context;
+
+/**
+ * Renders the fragments of {@code fragments/reservation.html} and keeps the HTML per reservation
+ * id and change version, so pages of unchanged reservations are assembled from cached rows.
+ * Only active with the template cache ({@code spring.thymeleaf.cache}), otherwise template
+ * changes would not show up during development.
+ */
+@Component
+public class ReservationFragments {
+
+    public static final String CACHE_NAME = "renderedFragments";
+
+    private static final String TEMPLATE = "fragments/reservation";
+
+    private final ITemplateEngine templateEngine;
+    private final ReservationVersions reservationVersions;
+    private final Cache cache;
+    private final String contextPath;
+
+    public ReservationFragments(ITemplateEngine templateEngine, ReservationVersions reservationVersions,
+                                CacheManager cacheManager,
+                                @Value("${server.servlet.context-path:}") String contextPath,
+                                @Value("${spring.thymeleaf.cache:true}") boolean enabled) {
+        this.templateEngine = templateEngine;
+        this.reservationVersions = reservationVersions;
+        this.cache = enabled ? cacheManager.getCache(CACHE_NAME) : null;
+        this.contextPath = contextPath;
+    }
+
+    /**
+     * @param readVersion global version taken before the reservations were read
+     */
+    public String row(ReservationSummary reservation, ReservationVersions.Version readVersion) {
+        return render("row", reservation.getId(), reservation, readVersion);
+    }
+
+    public String participants(Reservation reservation, ReservationVersions.Version readVersion) {
+        return render("participants", reservation.getId(), reservation, readVersion);
+    }
+
+    private String render(String fragment, Long id, Object reservation, ReservationVersions.Version readVersion) {
+        String key = fragment + ":" + id + ":" + reservationVersions.of(id).value();
+        if (cache != null) {
+            String cached = cache.get(key, String.class);
+            if (cached != null) {
+                return cached;
+            }
+        }
+
+        Context context = new Context(LocaleContextHolder.getLocale(),
+                Map.of("reservation", reservation, "contextPath", contextPath));
+        String html = templateEngine.process(TEMPLATE, Set.of(fragment), context);
+        // Hat sich seit dem Lesen etwas geändert, passen Daten und Version eventuell nicht zusammen
+        if (cache != null && reservationVersions.global().value() == readVersion.value()) {
+            cache.put(key, html);
+        }
+        return html;
+    }
+}
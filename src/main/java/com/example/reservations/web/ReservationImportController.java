@@ -0,0 +1,178 @@
+package com.example.reservations.web;
+
+import com.example.reservations.model.Reservation;
+import com.example.reservations.service.ReservationImportService;
+import com.example.reservations.service.ReservationMetrics;
+import com.example.reservations.web.dto.ReservationForm;
+import com.example.reservations.web.dto.ReservationImportReport;
+import com.example.reservations.web.dto.ReservationImportRow;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.JsonMappingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.dataformat.csv.CsvMapper;
+import com.fasterxml.jackson.dataformat.csv.CsvSchema;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.MediaType;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+/**
+ * Bulk import for migrating schedules from other systems. The body is read line by line and
+ * handed to the service in chunks, so the file is never held in memory as a whole.
+ */
+@RestController
+@RequestMapping("/api/reservations/import")
+public class ReservationImportController {
+
+    private static final int MAX_REPORTED_ERRORS = 1000;
+    private static final String UNREADABLE_LINE = "Zeile konnte nicht gelesen werden";
+
+    private final ReservationImportService importService;
+    private final Validator validator;
+    private final ReservationMetrics reservationMetrics;
+    private final ObjectReader jsonRowReader;
+    private final CsvMapper csvMapper;
+    private final int chunkSize;
+
+    public ReservationImportController(ReservationImportService importService, Validator validator,
+                                       ReservationMetrics reservationMetrics, ObjectMapper objectMapper,
+                                       @Value("${reservations.import.chunk-size:500}") int chunkSize) {
+        this.importService = importService;
+        this.validator = validator;
+        this.reservationMetrics = reservationMetrics;
+        this.jsonRowReader = objectMapper.readerFor(ReservationImportRow.class)
+                .with(DeserializationFeature.ACCEPT_EMPTY_STRING_AS_NULL_OBJECT);
+        this.csvMapper = CsvMappers.create();
+        this.chunkSize = chunkSize;
+    }
+
+    @PostMapping(consumes = "application/x-ndjson", produces = MediaType.APPLICATION_JSON_VALUE)
+    public ReservationImportReport importJsonLines(InputStream body) throws IOException {
+        BufferedReader reader = new BufferedReader(new InputStreamReader(body, StandardCharsets.UTF_8));
+        return importLines(reader, 0, jsonRowReader);
+    }
+
+    // Die erste Zeile enthält die Spaltennamen, Felder dürfen keine Zeilenumbrüche enthalten
+    @PostMapping(consumes = "text/csv", produces = MediaType.APPLICATION_JSON_VALUE)
+    public ReservationImportReport importCsv(InputStream body) throws IOException {
+        BufferedReader reader = new BufferedReader(new InputStreamReader(body, StandardCharsets.UTF_8));
+        String header = reader.readLine();
+        if (header == null) {
+            return new ReservationImportReport(0, 0, List.of());
+        }
+
+        CsvSchema.Builder schema = CsvSchema.builder();
+        for (String column : header.split(",")) {
+            schema.addColumn(column.trim());
+        }
+        return importLines(reader, 1, csvMapper.readerFor(ReservationImportRow.class).with(schema.build()));
+    }
+
+    private ReservationImportReport importLines(BufferedReader reader, long linesRead, ObjectReader rowReader) throws IOException {
+        ImportProgress progress = new ImportProgress();
+        List<Reservation> chunk = new ArrayList<>(chunkSize);
+        List<Long> chunkLines = new ArrayList<>(chunkSize);
+
+        long lineNumber = linesRead;
+        String line;
+        while ((line = reader.readLine()) != null) {
+            lineNumber++;
+            if (line.isBlank()) {
+                continue;
+            }
+
+            try {
+                ReservationImportRow row = rowReader.readValue(line);
+                // Eine Zeile "null" ergibt keine Zeile
+                if (row == null) {
+                    progress.failed(lineNumber, UNREADABLE_LINE);
+                } else {
+                    chunk.add(toReservation(row));
+                    chunkLines.add(lineNumber);
+                }
+            } catch (JsonMappingException ex) {
+                // Ohne Pfad ist die Zeile als Ganzes kein Objekt
+                progress.failed(lineNumber, ex.getPath().isEmpty() ? UNREADABLE_LINE : "Ungültiger Wert für " + fieldName(ex));
+            } catch (JsonProcessingException ex) {
+                progress.failed(lineNumber, UNREADABLE_LINE);
+            } catch (IllegalArgumentException ex) {
+                progress.failed(lineNumber, ex.getMessage());
+            }
+
+            if (chunk.size() == chunkSize) {
+                importChunk(chunk, chunkLines, progress);
+            }
+        }
+        importChunk(chunk, chunkLines, progress);
+        return progress.toReport();
+    }
+
+    private Reservation toReservation(ReservationImportRow row) {
+        ReservationForm form = row.toForm();
+        var violations = validator.validate(form);
+        if (!violations.isEmpty()) {
+            reservationMetrics.validationFailed("form");
+            throw new IllegalArgumentException(violations.stream()
+                    .map(ConstraintViolation::getMessage)
+                    .sorted()
+                    .collect(Collectors.joining(", ")));
+        }
+        return form.toReservation();
+    }
+
+    private void importChunk(List<Reservation> chunk, List<Long> chunkLines, ImportProgress progress) {
+        if (chunk.isEmpty()) {
+            return;
+        }
+        Map<Integer, String> errors = importService.importChunk(chunk);
+        progress.imported(chunk.size() - errors.size());
+        errors.forEach((index, message) -> progress.failed(chunkLines.get(index), message));
+        chunk.clear();
+        chunkLines.clear();
+    }
+
+    private static String fieldName(JsonMappingException ex) {
+        return ex.getPath().stream()
+                .map(JsonMappingException.Reference::getFieldName)
+                .filter(name -> name != null)
+                .findFirst()
+                .orElse("die Zeile");
+    }
+
+    private static final class ImportProgress {
+
+        private long imported;
+        private long failed;
+        private final List<ReservationImportReport.RowError> errors = new ArrayList<>();
+
+        void imported(int count) {
+            imported += count;
+        }
+
+        void failed(long line, String message) {
+            failed++;
+            if (errors.size() < MAX_REPORTED_ERRORS) {
+                errors.add(new ReservationImportReport.RowError(line, message));
+            }
+        }
+
+        ReservationImportReport toReport() {
+            errors.sort((a, b) -> Long.compare(a.line(), b.line()));
+            return new ReservationImportReport(imported, failed, errors);
+        }
+    }
+}
@@ -0,0 +1,51 @@
+package com.example.reservations.web;
+
+import com.example.reservations.service.FreeSlot;
+import com.example.reservations.service.RoomAvailabilityService;
+import com.example.reservations.service.SlotCandidate;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.ExceptionHandler;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+@RestController
+@RequestMapping("/api/rooms")
+public class RoomAvailabilityController {
+
+    private final RoomAvailabilityService availabilityService;
+
+    public RoomAvailabilityController(RoomAvailabilityService availabilityService) {
+        this.availabilityService = availabilityService;
+    }
+
+    @GetMapping("/free-slots")
+    public List<FreeSlot> freeSlots(
+            @RequestParam("minutes") int minutes,
+            @RequestParam(value = "from", required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+            @RequestParam(value = "to", required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to,
+            @RequestParam(value = "room", required = false) List<Integer> rooms,
+            @RequestParam(value = "limit", defaultValue = "10") int limit) {
+        LocalDateTime windowStart = from != null ? from : LocalDateTime.now();
+        LocalDateTime windowEnd = to != null ? to : windowStart.plusDays(7);
+        return availabilityService.findFreeSlots(Duration.ofMinutes(minutes), windowStart, windowEnd, rooms, limit);
+    }
+
+    @PostMapping("/availability")
+    public boolean[] availability(@RequestBody List<SlotCandidate> candidates) {
+        return availabilityService.checkAvailability(candidates);
+    }
+
+    @ExceptionHandler(IllegalArgumentException.class)
+    public ResponseEntity<Map<String, String>> badRequest(IllegalArgumentException ex) {
+        return ResponseEntity.badRequest().body(Map.of("message", ex.getMessage()));
+    }
+}
@@ -0,0 +1,13 @@
+package com.example.reservations.web.dto;
+
+import java.util.List;
+
+/**
+ * Result of a bulk import. {@code errors} lists the rejected lines by line number, up to a limit;
+ * {@code failed} always counts all of them.
+ */
+public record ReservationImportReport(long imported, long failed, List<RowError> errors) {
+
+    public record RowError(long line, String message) {
+    }
+}
@@ -0,0 +1,111 @@
+package com.example.reservations.web.dto;
+
+import com.example.reservations.model.ReservationAccess;
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import java.time.LocalDateTime;
+
+/**
+ * One line of a bulk import, read from CSV or JSON lines. Participants are a comma separated
+ * list like in the form.
+ */
+@JsonIgnoreProperties(ignoreUnknown = true)
+public class ReservationImportRow {
+
+    private String title;
+    private String location;
+    private Integer roomNumber;
+    private String description;
+    private LocalDateTime startTime;
+    private LocalDateTime endTime;
+    private ReservationAccess accessType;
+    private String accessCode;
+    private String participants;
+
+    public ReservationForm toForm() {
+        ReservationForm form = new ReservationForm();
+        form.setTitle(title);
+        form.setLocation(location);
+        form.setRoomNumber(roomNumber);
+        form.setDescription(description);
+        form.setStartTime(startTime);
+        form.setEndTime(endTime);
+        if (accessType != null) {
+            form.setAccessType(accessType);
+        }
+        form.setAccessCode(accessCode == null || accessCode.isBlank() ? null : accessCode);
+        form.setParticipantsText(participants);
+        return form;
+    }
+
+    public String getTitle() {
+        return title;
+    }
+
+    public void setTitle(String title) {
+        this.title = title;
+    }
+
+    public String getLocation() {
+        return location;
+    }
+
+    public void setLocation(String location) {
+        this.location = location;
+    }
+
+    public Integer getRoomNumber() {
+        return roomNumber;
+    }
+
+    public void setRoomNumber(Integer roomNumber) {
+        this.roomNumber = roomNumber;
+    }
+
+    public String getDescription() {
+        return description;
+    }
+
+    public void setDescription(String description) {
+        this.description = description;
+    }
+
+    public LocalDateTime getStartTime() {
+        return startTime;
+    }
+
+    public void setStartTime(LocalDateTime startTime) {
+        this.startTime = startTime;
+    }
+
+    public LocalDateTime getEndTime() {
+        return endTime;
+    }
+
+    public void setEndTime(LocalDateTime endTime) {
+        this.endTime = endTime;
+    }
+
+    public ReservationAccess getAccessType() {
+        return accessType;
+    }
+
+    public void setAccessType(ReservationAccess accessType) {
+        this.accessType = accessType;
+    }
+
+    public String getAccessCode() {
+        return accessCode;
+    }
+
+    public void setAccessCode(String accessCode) {
+        this.accessCode = accessCode;
+    }
+
+    public String getParticipants() {
+        return participants;
+    }
+
+    public void setParticipants(String participants) {
+        this.participants = participants;
+    }
+}
@@ -0,0 +1,85 @@
+package db.migration;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import org.flywaydb.core.api.migration.BaseJavaMigration;
+import org.flywaydb.core.api.migration.Context;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Claims the room slots of all reservations that have not ended yet. Overlaps that slipped in
+ * before the slot table existed are kept, the later reservation just doesn't claim the shared slots;
+ * each overlapping pair is logged so it can be resolved by hand. The slot computation is copied
+ * from RoomSlot, so later changes there do not alter this migration.
+ */
+public class V5__Backfill_room_slots extends BaseJavaMigration {
+
+    private static final Logger log = LoggerFactory.getLogger(V5__Backfill_room_slots.class);
+
+    private static final int SLOT_MINUTES = 15;
+
+    @Override
+    public void migrate(Context context) throws Exception {
+        Connection connection = context.getConnection();
+        // Slot -> Reservierung, die ihn belegt
+        Map<String, Long> claimed = new HashMap<>();
+        Set<String> overlaps = new LinkedHashSet<>();
+        int skipped = 0;
+
+        try (PreparedStatement select = connection.prepareStatement(
+                "select id, room_number, start_time, end_time from reservations where end_time > ? order by start_time, id");
+             PreparedStatement insert = connection.prepareStatement(
+                     "insert into room_slots (room_number, slot_start, reservation_id) values (?, ?, ?)")) {
+            select.setTimestamp(1, Timestamp.valueOf(LocalDateTime.now()));
+            try (ResultSet rows = select.executeQuery()) {
+                while (rows.next()) {
+                    long id = rows.getLong("id");
+                    int roomNumber = rows.getInt("room_number");
+                    LocalDateTime start = rows.getTimestamp("start_time").toLocalDateTime();
+                    LocalDateTime end = rows.getTimestamp("end_time").toLocalDateTime();
+
+                    for (LocalDateTime slotStart : slotStarts(start, end)) {
+                        Long holder = claimed.putIfAbsent(roomNumber + "@" + slotStart, id);
+                        if (holder != null) {
+                            overlaps.add(holder + "/" + id);
+                            skipped++;
+                            continue;
+                        }
+                        insert.setInt(1, roomNumber);
+                        insert.setTimestamp(2, Timestamp.valueOf(slotStart));
+                        insert.setLong(3, id);
+                        insert.addBatch();
+                    }
+                }
+            }
+            insert.executeBatch();
+        }
+
+        log.info("Claimed {} room slots for existing reservations, skipped {} overlapping slots", claimed.size(), skipped);
+        if (!overlaps.isEmpty()) {
+            log.warn("Overlapping reservations (id/id) were kept and need to be resolved by hand: {}", overlaps);
+        }
+    }
+
+    private static List<LocalDateTime> slotStarts(LocalDateTime start, LocalDateTime end) {
+        LocalDateTime slotStart = start.truncatedTo(ChronoUnit.MINUTES)
+                .withMinute(start.getMinute() - start.getMinute() % SLOT_MINUTES);
+        List<LocalDateTime> slotStarts = new ArrayList<>();
+        while (slotStart.isBefore(end)) {
+            slotStarts.add(slotStart);
+            slotStart = slotStart.plusMinutes(SLOT_MINUTES);
+        }
+        return slotStarts;
+    }
+}
@@ -0,0 +1,74 @@
+package db.migration;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.Statement;
+import java.util.Arrays;
+import org.flywaydb.core.api.migration.BaseJavaMigration;
+import org.flywaydb.core.api.migration.Context;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Adds the binary(16) digest columns for the access keys, fills them for existing reservations
+ * and moves the unique constraints from the varchar key columns to the digests. The digest (first
+ * 16 bytes of SHA-256) is computed here rather than through AccessKeyDigest, so later changes there
+ * do not alter this migration.
+ */
+public class V7__Hash_access_keys extends BaseJavaMigration {
+
+    private static final Logger log = LoggerFactory.getLogger(V7__Hash_access_keys.class);
+
+    private static final int BATCH_SIZE = 500;
+    private static final int DIGEST_LENGTH = 16;
+
+    @Override
+    public void migrate(Context context) throws Exception {
+        Connection connection = context.getConnection();
+
+        try (Statement ddl = connection.createStatement()) {
+            ddl.execute("alter table reservations add column public_key_hash binary(16)");
+            ddl.execute("alter table reservations add column private_key_hash binary(16)");
+        }
+
+        int updated = 0;
+        try (PreparedStatement select = connection.prepareStatement(
+                "select id, public_key, private_key from reservations");
+             PreparedStatement update = connection.prepareStatement(
+                     "update reservations set public_key_hash = ?, private_key_hash = ? where id = ?")) {
+            MessageDigest sha256 = MessageDigest.getInstance("SHA-256");
+            try (ResultSet rows = select.executeQuery()) {
+                while (rows.next()) {
+                    update.setBytes(1, digest(sha256, rows.getString("public_key")));
+                    update.setBytes(2, digest(sha256, rows.getString("private_key")));
+                    update.setLong(3, rows.getLong("id"));
+                    update.addBatch();
+                    if (++updated % BATCH_SIZE == 0) {
+                        update.executeBatch();
+                    }
+                }
+            }
+            update.executeBatch();
+        }
+
+        // Namen aus V1 (von Hibernate generiert)
+        try (Statement ddl = connection.createStatement()) {
+            ddl.execute("alter table reservations add constraint uk_reservations_public_key_hash unique (public_key_hash)");
+            ddl.execute("alter table reservations add constraint uk_reservations_private_key_hash unique (private_key_hash)");
+            ddl.execute("alter table reservations drop constraint UKbx8gf06e044jtrio86pu78d3a");
+            ddl.execute("alter table reservations drop constraint UK6gfr8octs6jflqlkn0j2abxo0");
+        }
+
+        log.info("Hashed access keys of {} reservations", updated);
+    }
+
+    private static byte[] digest(MessageDigest sha256, String key) {
+        if (key == null) {
+            return null;
+        }
+        return Arrays.copyOf(sha256.digest(key.getBytes(StandardCharsets.UTF_8)), DIGEST_LENGTH);
+    }
+}
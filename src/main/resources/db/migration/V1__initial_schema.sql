@@ -0,0 +1,27 @@
+-- Entspricht dem Schema, das Hibernate bisher über ddl-auto=update erzeugt hat.
+-- Bestehende Datenbanken werden auf dieser Version als Baseline übernommen.
+
+create table reservations (
+    id bigint not null auto_increment,
+    title varchar(255) not null,
+    location varchar(255) not null,
+    room_number integer not null,
+    description varchar(200) not null,
+    start_time datetime(6) not null,
+    end_time datetime(6) not null,
+    access_type enum ('PRIVATE','PUBLIC') not null,
+    access_code varchar(255),
+    public_key varchar(255),
+    private_key varchar(255),
+    primary key (id),
+    constraint UKbx8gf06e044jtrio86pu78d3a unique (public_key),
+    constraint UK6gfr8octs6jflqlkn0j2abxo0 unique (private_key)
+) engine=InnoDB;
+
+create table participants (
+    id bigint not null auto_increment,
+    name varchar(255) not null,
+    reservation_id bigint not null,
+    primary key (id),
+    constraint FKctdl6ivsl0oth6sjdq0chy2o9 foreign key (reservation_id) references reservations (id)
+) engine=InnoDB;
@@ -0,0 +1,2 @@
+-- Unterstützt die Konfliktprüfung (room_number = ? and start_time < ? and end_time > ?)
+create index idx_reservations_room_time on reservations (room_number, start_time, end_time);
@@ -0,0 +1,2 @@
+-- Unterstützt die Keyset-Paginierung der Übersicht (order by start_time, id)
+create index idx_reservations_start_id on reservations (start_time, id);
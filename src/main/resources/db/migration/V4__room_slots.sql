@@ -0,0 +1,10 @@
+-- Belegte Zeitslots pro Raum. Der Primärschlüssel verhindert Doppelbuchungen auch über mehrere Instanzen hinweg.
+create table room_slots (
+    room_number integer not null,
+    slot_start datetime(6) not null,
+    reservation_id bigint not null,
+    primary key (room_number, slot_start),
+    constraint fk_room_slots_reservation foreign key (reservation_id) references reservations (id) on delete cascade
+) engine=InnoDB;
+
+create index idx_room_slots_reservation on room_slots (reservation_id);
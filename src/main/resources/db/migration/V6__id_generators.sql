@@ -0,0 +1,11 @@
+-- Ids werden in Blöcken von 50 vergeben statt über auto_increment, damit Hibernate Inserts bündeln kann.
+-- Der gespeicherte Wert ist das obere Ende des nächsten Blocks (pooled), er muss also
+-- mindestens die höchste bestehende Id plus die allocationSize der Entitäten betragen.
+create table id_generators (
+    sequence_name varchar(255) not null,
+    next_val bigint,
+    primary key (sequence_name)
+) engine=InnoDB;
+
+insert into id_generators (sequence_name, next_val) select 'reservations', coalesce(max(id), 0) + 50 from reservations;
+insert into id_generators (sequence_name, next_val) select 'participants', coalesce(max(id), 0) + 50 from participants;
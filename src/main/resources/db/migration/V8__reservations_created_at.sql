@@ -0,0 +1,4 @@
+-- Erstellungszeitpunkt, damit der Schlüsselfilter Reservierungen anderer Instanzen laufend nachladen kann.
+-- Bestehende Reservierungen bleiben null, sie sind beim Start bereits im Filter.
+alter table reservations add column created_at datetime(6);
+create index idx_reservations_created_at on reservations (created_at);
@@ -0,0 +1,35 @@
+package com.example.reservations;
+
+import com.example.reservations.model.Participant;
+import com.example.reservations.model.Reservation;
+import com.example.reservations.model.ReservationAccess;
+
+import java.time.LocalDateTime;
+
+/**
+ * Valid, not yet saved reservations for the tests, built like the data in ReservationServiceTest.
+ */
+public final class ReservationFixtures {
+
+    public static final String PARTICIPANT = "Test User";
+
+    private ReservationFixtures() {
+    }
+
+    public static Reservation reservation(int roomNumber, LocalDateTime startTime) {
+        return reservation(roomNumber, startTime, startTime.plusHours(1));
+    }
+
+    public static Reservation reservation(int roomNumber, LocalDateTime startTime, LocalDateTime endTime) {
+        Reservation reservation = new Reservation();
+        reservation.setTitle("Test Meeting");
+        reservation.setLocation("Conference Room");
+        reservation.setRoomNumber(roomNumber);
+        reservation.setDescription("Test description with enough characters");
+        reservation.setStartTime(startTime);
+        reservation.setEndTime(endTime);
+        reservation.setAccessType(ReservationAccess.PUBLIC);
+        reservation.addParticipant(new Participant(PARTICIPANT));
+        return reservation;
+    }
+}
@@ -0,0 +1,17 @@
+package com.example.reservations.config;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SqlStatementTrackerTest {
+
+    @Test
+    void redactsLiteralsButKeepsPlaceholdersAndIdentifiers() {
+        String sql = "select r1_0.id from reservations r1_0\n  where r1_0.private_key = 'prv.secret''s' "
+                + "and r1_0.room_number = 101 and r1_0.start_time > ? limit 21";
+
+        assertEquals("select r1_0.id from reservations r1_0 where r1_0.private_key = ? "
+                + "and r1_0.room_number = ? and r1_0.start_time > ? limit ?", SqlStatementTracker.redact(sql));
+    }
+}
@@ -0,0 +1,49 @@
+package com.example.reservations.config;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.slf4j.MDC;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SqlStatisticsInterceptorTest {
+
+    private final SqlStatisticsInterceptor interceptor = new SqlStatisticsInterceptor();
+    private final MockHttpServletRequest request = new MockHttpServletRequest("GET", "/reservations/export");
+    private final MockHttpServletResponse response = new MockHttpServletResponse();
+
+    @AfterEach
+    void tearDown() {
+        SqlStatistics.clear();
+    }
+
+    @Test
+    void mdcCarriesTheRunningTotalsForTheWholeRequest() {
+        interceptor.preHandle(request, response, new Object());
+        assertEquals("0", MDC.get(SqlStatistics.MDC_STATEMENTS));
+
+        SqlStatistics.current().record(TimeUnit.MILLISECONDS.toNanos(3));
+        assertEquals("1", MDC.get(SqlStatistics.MDC_STATEMENTS));
+        assertEquals("3", MDC.get(SqlStatistics.MDC_TIME));
+
+        interceptor.afterCompletion(request, response, new Object(), null);
+        assertNull(SqlStatistics.current());
+        assertNull(MDC.get(SqlStatistics.MDC_STATEMENTS));
+    }
+
+    @Test
+    void asyncRequestsReleaseTheThreadClean() {
+        interceptor.preHandle(request, response, new Object());
+        SqlStatistics.current().record(1);
+
+        interceptor.afterConcurrentHandlingStarted(request, response, new Object());
+
+        assertNull(SqlStatistics.current());
+        assertNull(MDC.get(SqlStatistics.MDC_STATEMENTS));
+        assertNull(MDC.get(SqlStatistics.MDC_TIME));
+    }
+}
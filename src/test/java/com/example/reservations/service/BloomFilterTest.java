@@ -0,0 +1,48 @@
+package com.example.reservations.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class BloomFilterTest {
+
+    @Test
+    void containsEveryAddedValue() {
+        BloomFilter filter = new BloomFilter(10_000, 0.01);
+        List<String> keys = new ArrayList<>();
+        for (int i = 0; i < 10_000; i++) {
+            String key = "pub." + UUID.randomUUID();
+            keys.add(key);
+            filter.put(key);
+        }
+
+        assertTrue(keys.stream().allMatch(filter::mightContain));
+    }
+
+    @Test
+    void falsePositiveRateStaysNearTarget() {
+        BloomFilter filter = new BloomFilter(10_000, 0.01);
+        for (int i = 0; i < 10_000; i++) {
+            filter.put("prv." + UUID.randomUUID());
+        }
+
+        int falsePositives = 0;
+        for (int i = 0; i < 100_000; i++) {
+            if (filter.mightContain("unknown." + UUID.randomUUID())) {
+                falsePositives++;
+            }
+        }
+        assertTrue(falsePositives < 2_000, "false positives: " + falsePositives);
+    }
+
+    @Test
+    void emptyFilterRejectsEverything() {
+        BloomFilter filter = new BloomFilter(1_000, 0.01);
+
+        assertFalse(filter.mightContain("pub.anything"));
+    }
+}
@@ -0,0 +1,93 @@
+package com.example.reservations.service;
+
+import com.example.reservations.model.Reservation;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.caffeine.CaffeineCache;
+
+import java.time.LocalDateTime;
+
+import static com.example.reservations.ReservationFixtures.reservation;
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Not transactional on purpose: cache evictions only happen after a commit.
+ */
+@SpringBootTest
+class ReservationCacheTest {
+
+    @Autowired
+    private ReservationService reservationService;
+
+    @Autowired
+    private CacheManager cacheManager;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private Reservation reservation;
+
+    @BeforeEach
+    void setUp() {
+        reservation = reservationService.createReservation(reservation(105, LocalDateTime.now().plusDays(40).withNano(0)));
+    }
+
+    @Test
+    void repeatedLookupsAreServedFromCache() {
+        CacheStats before = stats(ReservationService.CACHE_BY_PUBLIC_KEY);
+
+        reservationService.findByPublicKey(reservation.getPublicKey());
+        reservationService.findByPublicKey(reservation.getPublicKey());
+
+        CacheStats after = stats(ReservationService.CACHE_BY_PUBLIC_KEY);
+        assertEquals(1, after.missCount() - before.missCount());
+        assertEquals(1, after.hitCount() - before.hitCount());
+        reservationService.deleteReservation(reservation.getId(), reservation.getPrivateKey());
+    }
+
+    @Test
+    void updateEvictsAllLookups() {
+        reservationService.findById(reservation.getId());
+        reservationService.findByPrivateKey(reservation.getPrivateKey());
+
+        Reservation updatedData = reservation(reservation.getRoomNumber(), reservation.getStartTime());
+        updatedData.setTitle("Renamed Meeting");
+        reservationService.updateReservation(reservation.getId(), reservation.getPrivateKey(), updatedData);
+
+        assertEquals("Renamed Meeting", reservationService.findById(reservation.getId()).orElseThrow().getTitle());
+        assertEquals("Renamed Meeting", reservationService.findByPrivateKey(reservation.getPrivateKey()).orElseThrow().getTitle());
+        reservationService.deleteReservation(reservation.getId(), reservation.getPrivateKey());
+    }
+
+    @Test
+    void deleteEvictsAllLookups() {
+        reservationService.findById(reservation.getId());
+        reservationService.findByPublicKey(reservation.getPublicKey());
+
+        reservationService.deleteReservation(reservation.getId(), reservation.getPrivateKey());
+
+        assertTrue(reservationService.findById(reservation.getId()).isEmpty());
+        assertTrue(reservationService.findByPublicKey(reservation.getPublicKey()).isEmpty());
+    }
+
+    @Test
+    void secondLevelCacheIsOffWithoutTheProfile() {
+        reservationService.findById(reservation.getId());
+        reservationService.findByPublicKey(reservation.getPublicKey());
+
+        SessionFactory sessionFactory = entityManagerFactory.unwrap(SessionFactory.class);
+        assertFalse(sessionFactory.getSessionFactoryOptions().isSecondLevelCacheEnabled());
+        assertFalse(sessionFactory.getCache().containsEntity(Reservation.class, reservation.getId()));
+        reservationService.deleteReservation(reservation.getId(), reservation.getPrivateKey());
+    }
+
+    private CacheStats stats(String cacheName) {
+        return ((CaffeineCache) cacheManager.getCache(cacheName)).getNativeCache().stats();
+    }
+}
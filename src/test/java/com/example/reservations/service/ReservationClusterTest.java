@@ -0,0 +1,159 @@
+package com.example.reservations.service;
+
+import com.example.reservations.ReservationAppApplication;
+import com.example.reservations.model.Reservation;
+import com.example.reservations.repository.ReservationRepository;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import static com.example.reservations.ReservationFixtures.reservation;
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Runs two application instances against the same database. Each instance has its own room
+ * index and room locks, so only the room_slots table can keep them from double booking.
+ */
+class ReservationClusterTest {
+
+    private static final String DATABASE_URL = "jdbc:h2:mem:reservationscluster;MODE=MYSQL;DB_CLOSE_DELAY=-1";
+
+    private static ConfigurableApplicationContext firstNode;
+    private static ConfigurableApplicationContext secondNode;
+
+    @BeforeAll
+    static void startNodes() {
+        firstNode = startNode();
+        secondNode = startNode();
+    }
+
+    @AfterAll
+    static void stopNodes() {
+        secondNode.close();
+        firstNode.close();
+    }
+
+    private static ConfigurableApplicationContext startNode() {
+        return new SpringApplicationBuilder(ReservationAppApplication.class)
+                .web(WebApplicationType.NONE)
+                .properties("spring.datasource.url=" + DATABASE_URL)
+                .run();
+    }
+
+    @Test
+    void secondNodeCannotClaimSlotOfUncommittedReservation() throws Exception {
+        LocalDateTime startTime = LocalDateTime.now().plusDays(90).withHour(10).withMinute(0).withSecond(0).withNano(0);
+        ReservationService firstService = firstNode.getBean(ReservationService.class);
+        ReservationService secondService = secondNode.getBean(ReservationService.class);
+        TransactionTemplate firstTransaction = firstNode.getBean(TransactionTemplate.class);
+
+        // Der erste Knoten hält seine Transaktion offen, bis der zweite seine Prüfung hinter sich hat
+        CountDownLatch created = new CountDownLatch(1);
+        CountDownLatch commit = new CountDownLatch(1);
+        CompletableFuture<Reservation> first = CompletableFuture.supplyAsync(() -> firstTransaction.execute(status -> {
+            Reservation reservation = firstService.createReservation(reservation(104, startTime));
+            created.countDown();
+            await(commit);
+            return reservation;
+        }));
+        assertTrue(created.await(10, TimeUnit.SECONDS));
+
+        CompletableFuture<Reservation> second = CompletableFuture.supplyAsync(
+                () -> secondService.createReservation(reservation(104, startTime.plusMinutes(30))));
+        Thread.sleep(200);
+        commit.countDown();
+
+        Reservation committed = first.get(10, TimeUnit.SECONDS);
+        ExecutionException rejected = assertThrows(ExecutionException.class, () -> second.get(10, TimeUnit.SECONDS));
+        assertInstanceOf(IllegalStateException.class, rejected.getCause());
+
+        firstService.deleteReservation(committed.getId(), committed.getPrivateKey());
+    }
+
+    @Test
+    void slotsAreReleasedOnDeleteForOtherNodes() {
+        LocalDateTime startTime = LocalDateTime.now().plusDays(91).withHour(10).withMinute(0).withSecond(0).withNano(0);
+        ReservationService firstService = firstNode.getBean(ReservationService.class);
+        ReservationService secondService = secondNode.getBean(ReservationService.class);
+
+        Reservation first = firstService.createReservation(reservation(105, startTime));
+        firstService.deleteReservation(first.getId(), first.getPrivateKey());
+
+        Reservation second = secondService.createReservation(reservation(105, startTime));
+        assertNotNull(second.getId());
+        secondService.deleteReservation(second.getId(), second.getPrivateKey());
+    }
+
+    @Test
+    void deletesOnOtherNodesDoNotBlockThroughTheLocalIndex() {
+        LocalDateTime startTime = LocalDateTime.now().plusDays(93).withHour(10).withMinute(0).withSecond(0).withNano(0);
+        ReservationService firstService = firstNode.getBean(ReservationService.class);
+        ReservationService secondService = secondNode.getBean(ReservationService.class);
+
+        Reservation first = firstService.createReservation(reservation(102, startTime));
+        // Der zweite Knoten übernimmt die Reservierung wie beim Start in seinen Index
+        secondService.rebuildRoomScheduleIndex();
+        firstService.deleteReservation(first.getId(), first.getPrivateKey());
+
+        Reservation second = secondService.createReservation(reservation(102, startTime));
+        assertNotNull(second.getId());
+        secondService.deleteReservation(second.getId(), second.getPrivateKey());
+    }
+
+    @Test
+    void importChunkFallsBackToSingleRowsWhenAnotherNodeHoldsASlot() {
+        LocalDateTime startTime = LocalDateTime.now().plusDays(92).withHour(10).withMinute(0).withSecond(0).withNano(0);
+        ReservationService firstService = firstNode.getBean(ReservationService.class);
+        ReservationImportService secondImporter = secondNode.getBean(ReservationImportService.class);
+
+        // Der Index des zweiten Knotens kennt diese Reservierung nicht, erst die Slot-Tabelle bemerkt den Konflikt
+        Reservation existing = firstService.createReservation(reservation(103, startTime));
+
+        Reservation clash = reservation(103, startTime.plusMinutes(30));
+        Reservation free = reservation(103, startTime.plusHours(2));
+        Map<Integer, String> errors = secondImporter.importChunk(List.of(clash, free));
+
+        assertEquals(Map.of(0, "Der ausgewählte Raum und Zeitslot kollidiert mit einer bestehenden Reservierung"), errors);
+        Reservation imported = secondNode.getBean(ReservationRepository.class).findByRoomNumber(103).stream()
+                .filter(reservation -> reservation.getStartTime().equals(free.getStartTime()))
+                .findFirst()
+                .orElseThrow();
+        secondNode.getBean(ReservationService.class).deleteReservation(imported.getId(), imported.getPrivateKey());
+        firstService.deleteReservation(existing.getId(), existing.getPrivateKey());
+    }
+
+    @Test
+    void importsIgnoreStaleEntriesOfTheLocalIndex() {
+        LocalDateTime startTime = LocalDateTime.now().plusDays(94).withHour(10).withMinute(0).withSecond(0).withNano(0);
+        ReservationService firstService = firstNode.getBean(ReservationService.class);
+        ReservationService secondService = secondNode.getBean(ReservationService.class);
+
+        Reservation first = firstService.createReservation(reservation(101, startTime));
+        secondService.rebuildRoomScheduleIndex();
+        firstService.deleteReservation(first.getId(), first.getPrivateKey());
+
+        Reservation row = reservation(101, startTime);
+        assertEquals(Map.of(), secondNode.getBean(ReservationImportService.class).importChunk(List.of(row)));
+        secondService.deleteReservation(row.getId(), row.getPrivateKey());
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(10, TimeUnit.SECONDS);
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,130 @@
+package com.example.reservations.service;
+
+import com.example.reservations.model.Reservation;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static com.example.reservations.ReservationFixtures.reservation;
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest
+class ReservationConcurrencyTest {
+
+    private static final int THREADS = 8;
+
+    @Autowired
+    private ReservationService reservationService;
+
+    @Autowired
+    private RoomLocks roomLocks;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    private final List<Reservation> created = new ArrayList<>();
+
+    @AfterEach
+    void tearDown() {
+        created.forEach(reservation -> reservationService.deleteReservation(reservation.getId(), reservation.getPrivateKey()));
+    }
+
+    @Test
+    void concurrentCreatesForTheSameSlotBookOnlyOnce() throws Exception {
+        LocalDateTime startTime = LocalDateTime.now().plusDays(60).withHour(10).withMinute(0).withSecond(0).withNano(0);
+
+        List<Reservation> results = createConcurrently(i -> reservation(103, startTime));
+
+        assertEquals(1, results.size());
+    }
+
+    @Test
+    void differentRoomsDoNotBlockEachOther() throws Exception {
+        LocalDateTime startTime = LocalDateTime.now().plusDays(61).withHour(10).withMinute(0).withSecond(0).withNano(0);
+
+        List<Reservation> results = createConcurrently(i -> reservation(101 + i % 5, startTime.plusDays(i / 5)));
+
+        assertEquals(THREADS, results.size());
+    }
+
+    @Test
+    void callersWaitingForARoomHoldNoConnection() throws Exception {
+        LocalDateTime startTime = LocalDateTime.now().plusDays(62).withHour(10).withMinute(0).withSecond(0).withNano(0);
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        List<Future<Reservation>> futures = new ArrayList<>();
+        double contendedBefore = contendedAcquisitions();
+        try {
+            double activeWhileWaiting = roomLocks.callLocked(List.of(104), () -> {
+                for (int i = 0; i < THREADS; i++) {
+                    Reservation reservation = reservation(104, startTime.plusDays(i));
+                    futures.add(executor.submit(() -> reservationService.createReservation(reservation)));
+                }
+                awaitContendedAcquisitions(contendedBefore + THREADS);
+                return meterRegistry.get("hikaricp.connections.active").gauge().value();
+            });
+
+            for (Future<Reservation> future : futures) {
+                created.add(future.get());
+            }
+            // Höchstens ein geplanter Job (Schlüsselfilter) darf gerade eine Verbindung halten
+            assertTrue(activeWhileWaiting <= 1, "active connections: " + activeWhileWaiting);
+            assertEquals(THREADS, created.size());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private List<Reservation> createConcurrently(java.util.function.IntFunction<Reservation> factory) throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        CountDownLatch start = new CountDownLatch(1);
+        try {
+            List<Future<Reservation>> futures = new ArrayList<>();
+            for (int i = 0; i < THREADS; i++) {
+                Reservation reservation = factory.apply(i);
+                Callable<Reservation> task = () -> {
+                    start.await();
+                    return reservationService.createReservation(reservation);
+                };
+                futures.add(executor.submit(task));
+            }
+            start.countDown();
+
+            for (Future<Reservation> future : futures) {
+                try {
+                    created.add(future.get());
+                } catch (java.util.concurrent.ExecutionException ex) {
+                    assertInstanceOf(IllegalStateException.class, ex.getCause());
+                }
+            }
+            return created;
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private double contendedAcquisitions() {
+        return meterRegistry.get("reservations.room.lock.acquisitions").tag("contended", "true").counter().count();
+    }
+
+    private void awaitContendedAcquisitions(double count) {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+        while (contendedAcquisitions() < count) {
+            if (System.nanoTime() > deadline) {
+                fail("callers did not queue on the room lock");
+            }
+            Thread.onSpinWait();
+        }
+    }
+}
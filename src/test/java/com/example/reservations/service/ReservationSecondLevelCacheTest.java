@@ -0,0 +1,125 @@
+package com.example.reservations.service;
+
+import com.example.reservations.ReservationFixtures;
+import com.example.reservations.model.Participant;
+import com.example.reservations.model.Reservation;
+import com.example.reservations.repository.ReservationRepository;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static com.example.reservations.ReservationFixtures.reservation;
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Goes through the repository, the service would answer repeated lookups from its own caches.
+ */
+@SpringBootTest
+@ActiveProfiles("l2cache")
+class ReservationSecondLevelCacheTest {
+
+    @Autowired
+    private ReservationService reservationService;
+
+    @Autowired
+    private ReservationRepository reservationRepository;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    private Statistics statistics;
+    private Reservation reservation;
+
+    @BeforeEach
+    void setUp() {
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+
+        reservation = reservationService.createReservation(reservation(104, LocalDateTime.now().plusDays(45).withNano(0)));
+    }
+
+    @AfterEach
+    void tearDown() {
+        reservationService.deleteReservation(reservation.getId(), reservation.getPrivateKey());
+    }
+
+    @Test
+    void entityAndParticipantsComeFromTheCache() {
+        loadWithParticipants();
+        long statements = statistics.getPrepareStatementCount();
+        long entityHits = hits(Reservation.CACHE_REGION);
+        long participantHits = hits(Reservation.PARTICIPANTS_CACHE_REGION);
+
+        List<String> names = loadWithParticipants();
+
+        assertEquals(statements, statistics.getPrepareStatementCount());
+        assertEquals(1, hits(Reservation.CACHE_REGION) - entityHits);
+        assertEquals(1, hits(Reservation.PARTICIPANTS_CACHE_REGION) - participantHits);
+        assertEquals(List.of(ReservationFixtures.PARTICIPANT), names);
+    }
+
+    @Test
+    void repeatedLoadsByIdAreServedFromTheQueryCache() {
+        reservationRepository.findWithParticipantsById(reservation.getId()).orElseThrow();
+        long statements = statistics.getPrepareStatementCount();
+        long hits = queryHits(ReservationRepository.BY_ID_CACHE_REGION);
+
+        Reservation cached = reservationRepository.findWithParticipantsById(reservation.getId()).orElseThrow();
+
+        assertEquals(statements, statistics.getPrepareStatementCount());
+        assertEquals(1, queryHits(ReservationRepository.BY_ID_CACHE_REGION) - hits);
+        assertEquals(1, cached.getParticipants().size());
+    }
+
+    @Test
+    void keyLookupsAreServedFromTheQueryCache() {
+        reservationRepository.findIdByPrivateKey(reservation.getPrivateKey());
+        long statements = statistics.getPrepareStatementCount();
+        long hits = queryHits(ReservationRepository.KEY_LOOKUP_CACHE_REGION);
+
+        assertEquals(reservation.getId(), reservationRepository.findIdByPrivateKey(reservation.getPrivateKey()).orElseThrow());
+
+        assertEquals(statements, statistics.getPrepareStatementCount());
+        assertEquals(1, queryHits(ReservationRepository.KEY_LOOKUP_CACHE_REGION) - hits);
+    }
+
+    @Test
+    void updatesReplaceTheCachedState() {
+        reservationRepository.findWithParticipantsById(reservation.getId()).orElseThrow();
+
+        Reservation updatedData = reservation(reservation.getRoomNumber(), reservation.getStartTime());
+        updatedData.setTitle("Renamed L2 Meeting");
+        updatedData.addParticipant(new Participant("Other User"));
+        reservationService.updateReservation(reservation.getId(), reservation.getPrivateKey(), updatedData);
+
+        Reservation reloaded = reservationRepository.findWithParticipantsById(reservation.getId()).orElseThrow();
+        assertEquals("Renamed L2 Meeting", reloaded.getTitle());
+        assertEquals(List.of(ReservationFixtures.PARTICIPANT, "Other User"), loadWithParticipants());
+    }
+
+    // findById geht über EntityManager.find und damit direkt auf die Entity-Region
+    private List<String> loadWithParticipants() {
+        return transactionTemplate.execute(status -> reservationRepository.findById(reservation.getId()).orElseThrow()
+                .getParticipants().stream().map(Participant::getName).toList());
+    }
+
+    private long queryHits(String region) {
+        return statistics.getQueryRegionStatistics(region).getHitCount();
+    }
+
+    private long hits(String region) {
+        return statistics.getDomainDataRegionStatistics(region).getHitCount();
+    }
+}
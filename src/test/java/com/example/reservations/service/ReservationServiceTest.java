@@ -1,9 +1,14 @@
 package com.example.reservations.service;
 
+import com.example.reservations.model.AccessKeyType;
 import com.example.reservations.model.Participant;
 import com.example.reservations.model.Reservation;
 import com.example.reservations.model.ReservationAccess;
+import com.example.reservations.model.ReservationSummary;
 import com.example.reservations.repository.ReservationRepository;
+import jakarta.persistence.EntityManager;
+import org.hibernate.Hibernate;
+import org.hibernate.engine.spi.SessionImplementor;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -11,8 +16,10 @@ import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
+import java.util.List;
 import java.util.Optional;
 
+import static com.example.reservations.ReservationFixtures.reservation;
 import static org.junit.jupiter.api.Assertions.*;
 
 @SpringBootTest
@@ -25,6 +32,15 @@ class ReservationServiceTest {
     @Autowired
     private ReservationRepository reservationRepository;
 
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private AccessKeyFilter accessKeyFilter;
+
+    @Autowired
+    private RoomScheduleIndex roomScheduleIndex;
+
     private Reservation testReservation;
 
     @BeforeEach
@@ -72,6 +88,65 @@ class ReservationServiceTest {
         assertEquals(testReservation.getId(), found.get().getId());
     }
 
+    @Test
+    void testDetailLookupsFetchParticipants() {
+        entityManager.flush();
+        entityManager.clear();
+
+        Reservation byId = reservationService.findById(testReservation.getId()).orElseThrow();
+        Reservation byPublicKey = reservationService.findByPublicKey(testReservation.getPublicKey()).orElseThrow();
+        entityManager.clear();
+        Reservation byPrivateKey = reservationService.findByPrivateKey(testReservation.getPrivateKey()).orElseThrow();
+
+        assertTrue(Hibernate.isInitialized(byId.getParticipants()));
+        assertTrue(Hibernate.isInitialized(byPublicKey.getParticipants()));
+        assertTrue(Hibernate.isInitialized(byPrivateKey.getParticipants()));
+        assertEquals("John Doe", byPrivateKey.getParticipants().get(0).getName());
+    }
+
+    @Test
+    void testResolveTypedAccessKeys() {
+        assertTrue(testReservation.getPublicKey().startsWith("pub."));
+        assertTrue(testReservation.getPrivateKey().startsWith("prv."));
+
+        assertEquals(Optional.of(new AccessKeyMatch(testReservation.getId(), AccessKeyType.PUBLIC)),
+                reservationService.resolveAccessKey(testReservation.getPublicKey()));
+        assertEquals(Optional.of(new AccessKeyMatch(testReservation.getId(), AccessKeyType.PRIVATE)),
+                reservationService.resolveAccessKey(testReservation.getPrivateKey()));
+        assertTrue(reservationService.resolveAccessKey("prv.unknown").isEmpty());
+        assertTrue(reservationService.resolveAccessKey("xyz." + testReservation.getPublicKey().substring(4)).isEmpty());
+    }
+
+    @Test
+    void testResolveLegacyAccessKeys() {
+        testReservation.setPublicKey("LegacyPublicKey1");
+        testReservation.setPrivateKey("LegacyPrivateKey");
+        reservationRepository.saveAndFlush(testReservation);
+        // Bestehende Schlüssel werden beim Start in den Filter geladen
+        accessKeyFilter.rebuild();
+
+        assertEquals(Optional.of(new AccessKeyMatch(testReservation.getId(), AccessKeyType.PUBLIC)),
+                reservationService.resolveAccessKey("LegacyPublicKey1"));
+        assertEquals(Optional.of(new AccessKeyMatch(testReservation.getId(), AccessKeyType.PRIVATE)),
+                reservationService.resolveAccessKey("LegacyPrivateKey"));
+        assertTrue(reservationService.resolveAccessKey("UnknownLegacyKey").isEmpty());
+    }
+
+    @Test
+    void testRefreshLoadsKeysIssuedElsewhere() {
+        Reservation other = reservation(103, LocalDateTime.now().plusDays(3).withNano(0));
+        other.setPublicKey("pub.IssuedElsewhere01");
+        other.setPrivateKey("prv.IssuedElsewhere01");
+        // Am Filter vorbei gespeichert, wie von einer anderen Instanz
+        other = reservationRepository.saveAndFlush(other);
+
+        accessKeyFilter.refresh();
+
+        assertTrue(accessKeyFilter.mightContain("prv.IssuedElsewhere01"));
+        assertEquals(Optional.of(new AccessKeyMatch(other.getId(), AccessKeyType.PRIVATE)),
+                reservationService.resolveAccessKey("prv.IssuedElsewhere01"));
+    }
+
     @Test
     void testUpdateReservation() {
         // Create updated data
@@ -164,6 +239,17 @@ class ReservationServiceTest {
         });
     }
 
+    @Test
+    void testRoomScheduleIndexFollowsRepositoryWrites() {
+        LocalDateTime start = testReservation.getStartTime();
+        assertTrue(roomScheduleIndex.hasConflict(101, start, start.plusHours(1), null));
+
+        reservationRepository.delete(testReservation);
+        reservationRepository.flush();
+
+        assertFalse(roomScheduleIndex.hasConflict(101, start, start.plusHours(1), null));
+    }
+
     @Test
     void testRoomConflictValidation() {
         // Create a reservation with same room and overlapping time
@@ -260,20 +346,56 @@ class ReservationServiceTest {
         assertNotEquals(reservation1.getPublicKey(), reservation1.getPrivateKey());
     }
 
+    @Test
+    void testInsertsAreQueuedForBatching() {
+        Reservation reservation = reservation(104, LocalDateTime.now().plusDays(4).withNano(0));
+        for (String name : List.of("Anna", "Ben")) {
+            reservation.addParticipant(new Participant(name));
+        }
+
+        reservationRepository.save(reservation);
+
+        // Ids stammen aus dem Tabellengenerator, die Inserts warten auf den gemeinsamen Flush
+        assertNotNull(reservation.getId());
+        reservation.getParticipants().forEach(participant -> assertNotNull(participant.getId()));
+        assertEquals(4, entityManager.unwrap(SessionImplementor.class).getActionQueue().numberOfInsertions());
+    }
+
     private Reservation createValidReservation(int roomNumber, LocalDateTime startTime) {
-        Reservation reservation = new Reservation();
-        reservation.setTitle("Test Meeting");
-        reservation.setLocation("Conference Room");
-        reservation.setRoomNumber(roomNumber);
-        reservation.setDescription("Test description with enough characters");
-        reservation.setStartTime(startTime);
-        reservation.setEndTime(startTime.plusHours(1));
-        reservation.setAccessType(ReservationAccess.PUBLIC);
+        return reservationService.createReservation(reservation(roomNumber, startTime));
+    }
 
-        Participant participant = new Participant("Test User");
-        reservation.addParticipant(participant);
+    @Test
+    void testFindPageUsesKeysetCursors() {
+        Reservation second = createValidReservation(105, LocalDateTime.now().plusDays(5).withNano(0));
+        Reservation third = createValidReservation(105, LocalDateTime.now().plusDays(10).withNano(0));
+
+        ReservationPage first = reservationService.findPage(LocalDateTime.now(), null, null, 2);
+        assertEquals(2, first.reservations().size());
+        assertEquals(testReservation.getId(), first.reservations().get(0).getId());
+        assertFalse(first.hasPrevious());
+        assertTrue(first.hasNext());
+
+        ReservationPage last = reservationService.findPage(LocalDateTime.now(), first.next(), null, 2);
+        assertEquals(1, last.reservations().size());
+        assertEquals(third.getId(), last.reservations().get(0).getId());
+        assertTrue(last.hasPrevious());
+        assertFalse(last.hasNext());
+
+        ReservationPage back = reservationService.findPage(LocalDateTime.now(), null, last.previous(), 2);
+        assertEquals(List.of(testReservation.getId(), second.getId()),
+                back.reservations().stream().map(ReservationSummary::getId).toList());
+        assertFalse(back.hasPrevious());
+        assertTrue(back.hasNext());
+    }
+
+    @Test
+    void testFindPageSkipsPastReservationsByDefault() {
+        ReservationPage page = reservationService.findPage(testReservation.getEndTime(), null, null, 20);
+        assertTrue(page.reservations().isEmpty());
 
-        return reservationService.createReservation(reservation);
+        ReservationPage all = reservationService.findPage(null, null, null, 20);
+        assertEquals(1, all.reservations().size());
     }
 
     @Test
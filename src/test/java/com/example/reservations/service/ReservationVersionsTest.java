@@ -0,0 +1,32 @@
+package com.example.reservations.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.time.Instant;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ReservationVersionsTest {
+
+    @Test
+    void eTagChangesWithTheReservation() {
+        ReservationVersions versions = new ReservationVersions(Duration.ofHours(1));
+        String eTag = versions.eTag(versions.of(5L), "r5");
+
+        versions.changed(5L);
+
+        assertNotEquals(eTag, versions.eTag(versions.of(5L), "r5"));
+    }
+
+    @Test
+    void eTagExpiresWithoutLocalChanges() throws InterruptedException {
+        ReservationVersions versions = new ReservationVersions(Duration.ofMillis(20));
+        String eTag = versions.eTag(versions.of(5L), "r5");
+
+        Thread.sleep(50);
+
+        assertNotEquals(eTag, versions.eTag(versions.of(5L), "r5"));
+        assertFalse(versions.lastModified(versions.of(5L)).isBefore(Instant.now().minusMillis(20)));
+    }
+}
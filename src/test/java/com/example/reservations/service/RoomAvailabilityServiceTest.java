@@ -0,0 +1,80 @@
+package com.example.reservations.service;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static com.example.reservations.ReservationFixtures.reservation;
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest
+@Transactional
+class RoomAvailabilityServiceTest {
+
+    private static final LocalDateTime NINE = LocalDateTime.now().plusDays(200).withHour(9).withMinute(0).withSecond(0).withNano(0);
+
+    @Autowired
+    private RoomAvailabilityService availabilityService;
+
+    @Autowired
+    private ReservationService reservationService;
+
+    @Test
+    void freeSlotsSkipReservationsAndStartOnSlotBoundaries() {
+        createReservation(101, NINE.plusHours(1), NINE.plusHours(2).plusMinutes(10));
+
+        List<FreeSlot> slots = availabilityService.findFreeSlots(Duration.ofHours(1), NINE, NINE.plusHours(4), List.of(101), 10);
+
+        assertEquals(List.of(
+                new FreeSlot(101, NINE, NINE.plusHours(1)),
+                new FreeSlot(101, NINE.plusHours(2).plusMinutes(15), NINE.plusHours(3).plusMinutes(15))), slots);
+    }
+
+    @Test
+    void freeSlotsOfAllRoomsAreOrderedByStartAndLimited() {
+        createReservation(101, NINE, NINE.plusHours(1));
+
+        List<FreeSlot> slots = availabilityService.findFreeSlots(Duration.ofMinutes(50), NINE, NINE.plusHours(2), null, 6);
+
+        assertEquals(6, slots.size());
+        assertEquals(List.of(102, 103, 104, 105, 101, 102), slots.stream().map(FreeSlot::roomNumber).toList());
+        assertEquals(NINE, slots.get(3).startTime());
+        assertEquals(NINE.plusHours(1), slots.get(4).startTime());
+        assertEquals(NINE.plusHours(1), slots.get(5).startTime());
+    }
+
+    @Test
+    void freeSlotsRejectUnknownRoomsAndOversizedWindows() {
+        assertThrows(IllegalArgumentException.class,
+                () -> availabilityService.findFreeSlots(Duration.ofHours(1), NINE, NINE.plusHours(4), List.of(999), 10));
+        assertThrows(IllegalArgumentException.class,
+                () -> availabilityService.findFreeSlots(Duration.ofHours(1), NINE, NINE.plusDays(40), null, 10));
+    }
+
+    @Test
+    void availabilityIsCheckedForAllCandidatesAtOnce() {
+        createReservation(102, NINE, NINE.plusMinutes(50));
+        createReservation(103, NINE.plusHours(3), NINE.plusHours(4));
+
+        boolean[] available = availabilityService.checkAvailability(List.of(
+                new SlotCandidate(102, NINE.plusMinutes(30), NINE.plusHours(1)),
+                new SlotCandidate(102, NINE.plusMinutes(55), NINE.plusHours(2)),
+                new SlotCandidate(102, NINE.plusHours(1), NINE.plusHours(2)),
+                new SlotCandidate(103, NINE.plusHours(1), NINE.plusHours(3)),
+                new SlotCandidate(103, NINE.plusHours(2), NINE.plusHours(3).plusMinutes(1)),
+                new SlotCandidate(999, NINE, NINE.plusHours(1)),
+                new SlotCandidate(104, NINE.plusHours(1), NINE),
+                new SlotCandidate(104, LocalDateTime.now().minusDays(1), LocalDateTime.now().minusDays(1).plusHours(1))));
+
+        assertArrayEquals(new boolean[] {false, false, true, true, false, false, false, false}, available);
+    }
+
+    private void createReservation(int roomNumber, LocalDateTime startTime, LocalDateTime endTime) {
+        reservationService.createReservation(reservation(roomNumber, startTime, endTime));
+    }
+}
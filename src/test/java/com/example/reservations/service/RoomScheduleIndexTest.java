@@ -0,0 +1,103 @@
+package com.example.reservations.service;
+
+import com.example.reservations.model.RoomOccupancy;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RoomScheduleIndexTest {
+
+    private static final LocalDateTime NINE = LocalDateTime.of(2030, 1, 7, 9, 0);
+
+    private RoomScheduleIndex index;
+
+    @BeforeEach
+    void setUp() {
+        index = new RoomScheduleIndex();
+        index.rebuild(List.of(
+                new RoomOccupancy(1L, 101, NINE, NINE.plusHours(1)),
+                new RoomOccupancy(2L, 101, NINE.plusHours(2), NINE.plusHours(3)),
+                new RoomOccupancy(3L, 102, NINE, NINE.plusHours(8))));
+    }
+
+    @Test
+    void detectsOverlapInSameRoom() {
+        assertTrue(index.hasConflict(101, NINE.plusMinutes(30), NINE.plusMinutes(90), null));
+        assertTrue(index.hasConflict(101, NINE.minusHours(1), NINE.plusHours(4), null));
+        assertTrue(index.hasConflict(101, NINE.plusHours(2).plusMinutes(10), NINE.plusHours(2).plusMinutes(20), null));
+    }
+
+    @Test
+    void adjacentSlotsDoNotConflict() {
+        assertFalse(index.hasConflict(101, NINE.plusHours(1), NINE.plusHours(2), null));
+        assertFalse(index.hasConflict(101, NINE.minusHours(1), NINE, null));
+        assertFalse(index.hasConflict(101, NINE.plusHours(3), NINE.plusHours(4), null));
+    }
+
+    @Test
+    void otherRoomsAreIgnored() {
+        assertFalse(index.hasConflict(103, NINE, NINE.plusHours(1), null));
+    }
+
+    @Test
+    void excludedReservationDoesNotConflictWithItself() {
+        assertFalse(index.hasConflict(101, NINE.plusMinutes(15), NINE.plusMinutes(45), 1L));
+        assertTrue(index.hasConflict(101, NINE.plusMinutes(15), NINE.plusHours(2).plusMinutes(15), 1L));
+    }
+
+    @Test
+    void findsLongReservationBehindShorterOverlappingOnes() {
+        // Überlappungen aus der Zeit vor der Slot-Tabelle (V5)
+        index.put(new RoomOccupancy(4L, 104, NINE, NINE.plusHours(8)));
+        index.put(new RoomOccupancy(5L, 104, NINE.plusHours(1), NINE.plusHours(2)));
+
+        assertTrue(index.hasConflict(104, NINE.plusHours(3), NINE.plusHours(4), null));
+        assertFalse(index.hasConflict(104, NINE.plusHours(3), NINE.plusHours(4), 4L));
+        assertFalse(index.hasConflict(104, NINE.plusHours(8), NINE.plusHours(9), null));
+    }
+
+    @Test
+    void putReplacesPreviousEntry() {
+        RoomOccupancy previous = index.put(new RoomOccupancy(1L, 103, NINE, NINE.plusHours(1)));
+
+        assertEquals(101, previous.roomNumber());
+        assertFalse(index.hasConflict(101, NINE, NINE.plusHours(1), null));
+        assertTrue(index.hasConflict(103, NINE, NINE.plusHours(1), null));
+        assertEquals(3, index.size());
+    }
+
+    @Test
+    void removeFreesTheSlot() {
+        index.remove(2L);
+
+        assertFalse(index.hasConflict(101, NINE.plusHours(2), NINE.plusHours(3), null));
+        assertEquals(2, index.size());
+    }
+
+    @Test
+    void removeEndedBeforeKeepsRunningAndLaterEntries() {
+        assertEquals(1, index.removeEndedBefore(NINE.plusHours(2)));
+
+        assertFalse(index.hasConflict(101, NINE, NINE.plusHours(1), null));
+        assertTrue(index.hasConflict(101, NINE.plusHours(2), NINE.plusHours(3), null));
+        assertTrue(index.hasConflict(102, NINE.plusHours(7), NINE.plusHours(9), null));
+        assertEquals(2, index.size());
+    }
+
+    @Test
+    void scanBoundShrinksWhenTheLongestReservationLeaves() {
+        index.put(new RoomOccupancy(4L, 101, NINE.plusHours(4), NINE.plusHours(12)));
+        assertEquals(Duration.ofHours(8), index.longestDuration(101));
+
+        index.remove(4L);
+        assertEquals(Duration.ofHours(1), index.longestDuration(101));
+
+        index.removeEndedBefore(NINE.plusHours(9));
+        assertEquals(Duration.ZERO, index.longestDuration(102));
+    }
+}
@@ -0,0 +1,57 @@
+package com.example.reservations.service;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.HashSet;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SecureKeyPoolTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private SecureKeyPool pool;
+
+    @AfterEach
+    void tearDown() {
+        pool.shutdown();
+    }
+
+    @Test
+    void fillsInBackgroundAndIssuesUniqueUrlSafeKeys() throws InterruptedException {
+        pool = new SecureKeyPool(64, 1, meterRegistry);
+        awaitSize(64);
+        assertEquals(64, pool.size());
+
+        Set<String> keys = new HashSet<>();
+        for (int i = 0; i < 40; i++) {
+            String key = pool.nextKey();
+            assertTrue(key.matches("[A-Za-z0-9_-]{16}"), key);
+            keys.add(key);
+        }
+
+        assertEquals(40, keys.size());
+        assertEquals(40.0, meterRegistry.get("reservations.key_pool.keys").tag("source", "pool").counter().count());
+        // Unter die Hälfte gefallen, also wird wieder aufgefüllt (läuft teils schon während der Entnahme)
+        awaitSize(32);
+        assertTrue(pool.size() >= 32, "size: " + pool.size());
+    }
+
+    @Test
+    void generatesDirectlyWhenEmpty() {
+        pool = new SecureKeyPool(0, 1, meterRegistry);
+
+        assertNotEquals(pool.nextKey(), pool.nextKey());
+        assertEquals(2.0, meterRegistry.get("reservations.key_pool.keys").tag("source", "fallback").counter().count());
+        assertEquals(0.0, meterRegistry.get("reservations.key_pool.size").gauge().value());
+    }
+
+    private void awaitSize(int minimum) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 5000;
+        while (pool.size() < minimum && System.currentTimeMillis() < deadline) {
+            Thread.sleep(10);
+        }
+    }
+}
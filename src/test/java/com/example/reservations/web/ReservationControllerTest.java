@@ -0,0 +1,154 @@
+package com.example.reservations.web;
+
+import com.example.reservations.model.Participant;
+import com.example.reservations.model.Reservation;
+import com.example.reservations.repository.ReservationRepository;
+import com.example.reservations.service.ReservationService;
+import com.example.reservations.service.ReservationVersions;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.cache.CacheManager;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.time.LocalDateTime;
+
+import static com.example.reservations.ReservationFixtures.reservation;
+import static org.junit.jupiter.api.Assertions.*;
+import static org.hamcrest.Matchers.containsString;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+class ReservationControllerTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ReservationService reservationService;
+
+    @Autowired
+    private ReservationRepository reservationRepository;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Autowired
+    private CacheManager cacheManager;
+
+    @Autowired
+    private ReservationVersions reservationVersions;
+
+    private Reservation reservation;
+
+    @BeforeEach
+    void setUp() {
+        reservation = reservation(104, LocalDateTime.now().plusDays(20).withNano(0));
+        reservation.addParticipant(new Participant("Grace Hopper"));
+        reservation.addParticipant(new Participant("Alan Turing"));
+        reservation = reservationService.createReservation(reservation);
+    }
+
+    @AfterEach
+    void tearDown() {
+        // Einzelne Tests löschen die Reservierung selbst
+        String privateKey = reservation.getPrivateKey();
+        reservationService.findByPrivateKey(privateKey)
+                .ifPresent(existing -> reservationService.deleteReservation(existing.getId(), privateKey));
+    }
+
+    @Test
+    void publicViewRendersParticipantsWithoutOpenSessionInView() throws Exception {
+        mockMvc.perform(get("/reservations/{id}/public", reservation.getId()))
+                .andExpect(status().isOk())
+                .andExpect(content().string(containsString("Grace Hopper")))
+                .andExpect(content().string(containsString("Alan Turing")));
+    }
+
+    @Test
+    void publicViewLoadsParticipantsWithOneStatement() throws Exception {
+        reservationRepository.flush();
+
+        // Ohne Cache: eine Abfrage mit Join statt einer zusätzlichen pro Teilnehmer
+        String statements = mockMvc.perform(get("/reservations/{id}/public", reservation.getId()))
+                .andExpect(status().isOk())
+                .andExpect(header().exists("X-Sql-Time"))
+                .andReturn().getResponse().getHeader("X-Sql-Statements");
+        assertNotNull(statements);
+        assertTrue(Integer.parseInt(statements) <= 1, "statements: " + statements);
+    }
+
+    @Test
+    void unchangedReservationIsAnsweredWithNotModified() throws Exception {
+        String eTag = mockMvc.perform(get("/reservations/{id}/public", reservation.getId()))
+                .andExpect(status().isOk())
+                .andExpect(header().string("Cache-Control", "no-cache"))
+                .andReturn().getResponse().getHeader("ETag");
+        assertNotNull(eTag);
+
+        mockMvc.perform(get("/reservations/{id}/public", reservation.getId()).header("If-None-Match", eTag))
+                .andExpect(status().isNotModified())
+                .andExpect(header().string("X-Sql-Statements", "0"));
+
+        Reservation changed = reservation(reservation.getRoomNumber(), reservation.getStartTime());
+        changed.setTitle("Controller Test Meeting (verschoben)");
+        reservationService.updateReservation(reservation.getId(), reservation.getPrivateKey(), changed);
+
+        mockMvc.perform(get("/reservations/{id}/public", reservation.getId()).header("If-None-Match", eTag))
+                .andExpect(status().isOk())
+                .andExpect(content().string(containsString("verschoben")));
+    }
+
+    @Test
+    void listingIsAnsweredWithNotModifiedUntilAReservationChanges() throws Exception {
+        String eTag = mockMvc.perform(get("/").param("past", "true"))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getHeader("ETag");
+
+        mockMvc.perform(get("/").param("past", "true").header("If-None-Match", eTag))
+                .andExpect(status().isNotModified());
+
+        reservationService.deleteReservation(reservation.getId(), reservation.getPrivateKey());
+
+        mockMvc.perform(get("/").param("past", "true").header("If-None-Match", eTag))
+                .andExpect(status().isOk());
+    }
+
+    @Test
+    void listingRowsAreCachedUntilTheReservationChanges() throws Exception {
+        mockMvc.perform(get("/").param("past", "true"))
+                .andExpect(status().isOk())
+                .andExpect(content().string(containsString(
+                        "href=\"/reservations/" + reservation.getId() + "/public\"")));
+        String key = "row:" + reservation.getId() + ":" + reservationVersions.of(reservation.getId()).value();
+        assertNotNull(cacheManager.getCache(ReservationFragments.CACHE_NAME).get(key));
+
+        Reservation changed = reservation(reservation.getRoomNumber(), reservation.getStartTime());
+        changed.setTitle("Umbenanntes Meeting");
+        reservationService.updateReservation(reservation.getId(), reservation.getPrivateKey(), changed);
+
+        mockMvc.perform(get("/").param("past", "true"))
+                .andExpect(content().string(containsString("Umbenanntes Meeting")));
+    }
+
+    @Test
+    void connectionHoldTimeIsRecordedPerEndpoint() throws Exception {
+        mockMvc.perform(get("/reservations/{id}/confirm", reservation.getId()))
+                .andExpect(status().isOk());
+
+        Timer timer = meterRegistry.find("reservations.db.connection.hold")
+                .tag("uri", "/reservations/{id}/confirm")
+                .timer();
+        assertNotNull(timer);
+        assertTrue(timer.count() > 0);
+    }
+}
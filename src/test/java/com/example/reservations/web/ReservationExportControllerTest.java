@@ -0,0 +1,106 @@
+package com.example.reservations.web;
+
+import com.example.reservations.model.Participant;
+import com.example.reservations.model.Reservation;
+import com.example.reservations.model.ReservationAccess;
+import com.example.reservations.service.ReservationService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static com.example.reservations.ReservationFixtures.reservation;
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+class ReservationExportControllerTest {
+
+    private static final LocalDateTime START = LocalDateTime.now().plusDays(150).withHour(9).withMinute(0).withSecond(0).withNano(0);
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ReservationService reservationService;
+
+    private final List<Reservation> reservations = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        reservations.add(create("Export Public", START, ReservationAccess.PUBLIC, "Ada Lovelace", "Alan Turing"));
+        reservations.add(create("Export Private", START.plusHours(2), ReservationAccess.PRIVATE, "Grace Hopper"));
+        reservations.add(create("Export Later", START.plusDays(1), ReservationAccess.PUBLIC, "Linus Torvalds"));
+    }
+
+    @AfterEach
+    void tearDown() {
+        reservations.forEach(reservation -> reservationService.deleteReservation(reservation.getId(), reservation.getPrivateKey()));
+    }
+
+    @Test
+    void exportsCsvWithParticipantsAndWithoutPrivateDetails() throws Exception {
+        String csv = export("/api/reservations/export?room=105&from=" + START.minusHours(1) + "&to=" + START.plusHours(12), "text/csv;charset=UTF-8");
+
+        String[] lines = csv.split("\n");
+        assertEquals(3, lines.length);
+        assertEquals("id,title,location,roomNumber,description,startTime,endTime,accessType,participants", lines[0]);
+        assertTrue(lines[1].startsWith(reservations.get(0).getId() + ",\"Export Public\",\"Conference Room\",105,\"Test description with enough characters\","));
+        assertTrue(lines[1].endsWith(",PUBLIC,\"Ada Lovelace, Alan Turing\""));
+        assertTrue(lines[2].startsWith(reservations.get(1).getId() + ",\"Export Private\",\"Conference Room\",105,,"));
+        assertTrue(lines[2].endsWith(",PRIVATE,"));
+        assertFalse(csv.contains("Grace Hopper"));
+    }
+
+    @Test
+    void exportsJsonLines() throws Exception {
+        String json = export("/api/reservations/export?format=ndjson&room=105&from=" + START.plusDays(1).minusMinutes(1), "application/x-ndjson");
+
+        String[] lines = json.split("\n");
+        assertEquals(1, lines.length);
+        assertTrue(lines[0].contains("\"title\":\"Export Later\""));
+        assertTrue(lines[0].contains("\"startTime\":\"" + START.plusDays(1) + ":00\""));
+        assertTrue(lines[0].contains("\"participants\":\"Linus Torvalds\""));
+    }
+
+    @Test
+    void rejectsUnknownFormat() throws Exception {
+        mockMvc.perform(get("/api/reservations/export?format=xml"))
+                .andExpect(status().isBadRequest());
+    }
+
+    private String export(String url, String contentType) throws Exception {
+        MvcResult result = mockMvc.perform(get(url))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        return mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(contentType))
+                .andReturn().getResponse().getContentAsString();
+    }
+
+    private Reservation create(String title, LocalDateTime startTime, ReservationAccess accessType, String... participants) {
+        Reservation reservation = reservation(105, startTime);
+        reservation.setTitle(title);
+        reservation.setAccessType(accessType);
+        if (accessType == ReservationAccess.PRIVATE) {
+            reservation.setAccessCode("SECRET");
+        }
+        reservation.setParticipants(Arrays.stream(participants).map(Participant::new).toList());
+        return reservationService.createReservation(reservation);
+    }
+}
@@ -0,0 +1,122 @@
+package com.example.reservations.web;
+
+import com.example.reservations.model.Reservation;
+import com.example.reservations.repository.ReservationRepository;
+import com.example.reservations.service.ReservationService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.time.LocalDateTime;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest(properties = "reservations.import.chunk-size=2")
+@AutoConfigureMockMvc
+class ReservationImportControllerTest {
+
+    private static final LocalDateTime START = LocalDateTime.now().plusDays(120).withHour(8).withMinute(0).withSecond(0).withNano(0);
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ReservationService reservationService;
+
+    @Autowired
+    private ReservationRepository reservationRepository;
+
+    @AfterEach
+    void tearDown() {
+        reservationService.findAll().stream()
+                .filter(reservation -> reservation.getTitle().startsWith("Import"))
+                .forEach(reservation -> reservationService.deleteReservation(reservation.getId(), reservation.getPrivateKey()));
+    }
+
+    @Test
+    void importsCsvAndReportsRejectedLines() throws Exception {
+        String csv = String.join("\n",
+                "title,location,roomNumber,description,startTime,endTime,accessType,accessCode,participants",
+                csvRow("Import One", 101, START, START.plusHours(1), "public", "", "Ada Lovelace, Alan Turing"),
+                csvRow("Import Two", 101, START.plusMinutes(30), START.plusHours(2), "public", "", "Grace Hopper"),
+                csvRow("Import Three", 102, START, START.plusHours(1), "private", "", "Grace Hopper"),
+                csvRow("Import Four", 109, START, START.plusHours(1), "public", "", "Grace Hopper"),
+                "Import Five,Lab,103,Imported from the old system,not a date,,,,Grace Hopper",
+                "",
+                csvRow("Import Six", 102, START, START.plusHours(1), "private", "SECRET", "Linus Torvalds"));
+
+        mockMvc.perform(post("/api/reservations/import").contentType("text/csv").content(csv))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.imported").value(2))
+                .andExpect(jsonPath("$.failed").value(4))
+                .andExpect(jsonPath("$.errors[0].line").value(3))
+                .andExpect(jsonPath("$.errors[0].message").value("Der ausgewählte Raum und Zeitslot kollidiert mit einer bestehenden Reservierung"))
+                .andExpect(jsonPath("$.errors[1].line").value(4))
+                .andExpect(jsonPath("$.errors[1].message").value("Private Reservierungen erfordern einen Zugangscode"))
+                .andExpect(jsonPath("$.errors[2].line").value(5))
+                .andExpect(jsonPath("$.errors[2].message").value("Raumnummer muss zwischen 101 und 105 liegen"))
+                .andExpect(jsonPath("$.errors[3].line").value(6))
+                .andExpect(jsonPath("$.errors[3].message").value("Ungültiger Wert für startTime"));
+
+        Reservation imported = reservationRepository.findByRoomNumber(101).stream()
+                .filter(reservation -> reservation.getTitle().equals("Import One"))
+                .findFirst()
+                .orElseThrow();
+        assertTrue(imported.getPublicKey().startsWith("pub."));
+    }
+
+    @Test
+    void importsJsonLinesAgainstExistingReservations() throws Exception {
+        String first = jsonRow("Import Existing", 104, START.plusDays(1));
+        mockMvc.perform(post("/api/reservations/import").contentType("application/x-ndjson").content(first))
+                .andExpect(jsonPath("$.imported").value(1));
+
+        String lines = String.join("\n",
+                jsonRow("Import Clash", 104, START.plusDays(1).plusMinutes(15)),
+                jsonRow("Import Later", 104, START.plusDays(1).plusHours(1)),
+                "{\"title\": \"Import Broken\"");
+
+        mockMvc.perform(post("/api/reservations/import").contentType("application/x-ndjson").content(lines))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.imported").value(1))
+                .andExpect(jsonPath("$.failed").value(2))
+                .andExpect(jsonPath("$.errors[0].line").value(1))
+                .andExpect(jsonPath("$.errors[1].line").value(3))
+                .andExpect(jsonPath("$.errors[1].message").value("Zeile konnte nicht gelesen werden"));
+    }
+
+    @Test
+    void reportsJsonLinesThatAreNoObjects() throws Exception {
+        String lines = String.join("\n",
+                "null",
+                "[1, 2]",
+                "42",
+                jsonRow("Import After Garbage", 105, START.plusDays(2)));
+
+        mockMvc.perform(post("/api/reservations/import").contentType("application/x-ndjson").content(lines))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.imported").value(1))
+                .andExpect(jsonPath("$.failed").value(3))
+                .andExpect(jsonPath("$.errors[0].message").value("Zeile konnte nicht gelesen werden"))
+                .andExpect(jsonPath("$.errors[1].message").value("Zeile konnte nicht gelesen werden"))
+                .andExpect(jsonPath("$.errors[2].message").value("Zeile konnte nicht gelesen werden"));
+    }
+
+    private static String csvRow(String title, int room, LocalDateTime start, LocalDateTime end,
+                                 String accessType, String accessCode, String participants) {
+        return String.join(",", title, "Lab", String.valueOf(room), "Imported from the old system",
+                start.toString(), end.toString(), accessType, accessCode, "\"" + participants + "\"");
+    }
+
+    private static String jsonRow(String title, int room, LocalDateTime start) {
+        return "{\"title\": \"" + title + "\", \"location\": \"Lab\", \"roomNumber\": " + room
+                + ", \"description\": \"Imported from the old system\", \"startTime\": \"" + start
+                + "\", \"endTime\": \"" + start.plusHours(1) + "\", \"participants\": \"Ada Lovelace\"}";
+    }
+}
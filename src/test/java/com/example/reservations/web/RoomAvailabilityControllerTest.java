@@ -0,0 +1,58 @@
+package com.example.reservations.web;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.time.LocalDateTime;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+class RoomAvailabilityControllerTest {
+
+    private static final LocalDateTime NINE = LocalDateTime.now().plusDays(210).withHour(9).withMinute(0).withSecond(0).withNano(0);
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Test
+    void freeSlotsAreReturnedAsJson() throws Exception {
+        mockMvc.perform(get("/api/rooms/free-slots")
+                        .param("minutes", "90")
+                        .param("from", NINE.toString())
+                        .param("to", NINE.plusHours(3).toString())
+                        .param("room", "104")
+                        .param("limit", "1"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(1))
+                .andExpect(jsonPath("$[0].roomNumber").value(104))
+                .andExpect(jsonPath("$[0].startTime").value(NINE + ":00"))
+                .andExpect(jsonPath("$[0].endTime").value(NINE.plusMinutes(90) + ":00"));
+    }
+
+    @Test
+    void availabilityAnswersEveryCandidate() throws Exception {
+        String candidates = "[{\"roomNumber\": 105, \"startTime\": \"" + NINE + "\", \"endTime\": \"" + NINE.plusHours(1) + "\"},"
+                + " {\"roomNumber\": 105, \"startTime\": \"" + NINE + "\", \"endTime\": \"" + NINE.minusHours(1) + "\"}]";
+
+        mockMvc.perform(post("/api/rooms/availability").contentType(MediaType.APPLICATION_JSON).content(candidates))
+                .andExpect(status().isOk())
+                .andExpect(content().json("[true, false]"));
+    }
+
+    @Test
+    void invalidRequestsAreRejectedWithMessage() throws Exception {
+        mockMvc.perform(get("/api/rooms/free-slots").param("minutes", "0"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.message").value("Die Dauer muss positiv sein"));
+    }
+}